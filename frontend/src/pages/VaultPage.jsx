@@ -126,14 +126,26 @@ function VaultPage() {
     }
   };
 
-  const handleEdit = (item) => {
+  const handleEdit = async (item, shared = false) => {
+    // Own items are listed without notes (secret columns): load them before editing,
+    // otherwise saving the form would clear them
+    let notes = item.notes || '';
+    if (!shared) {
+      try {
+        const response = await apiClient.get(`/vault/${item.id}/secret`);
+        notes = response.data.data?.notes || '';
+      } catch (err) {
+        setError(err.response?.data?.message || 'Failed to load vault item notes');
+        return;
+      }
+    }
     setEditingItem(item);
     setFormData({
       title: item.title || '',
       username: item.username || '',
       password: '', // Don't show password
       url: item.url || '',
-      notes: item.notes || '',
+      notes,
     });
     setShowForm(true);
   };
@@ -418,7 +430,6 @@ function VaultPage() {
                     </a>
                   </p>
                 )}
-                {item.notes && <p className="item-field"><strong>Notes:</strong> {item.notes}</p>}
                 {item.createdAt && (
                   <p className="item-date">Created: {new Date(item.createdAt).toLocaleDateString()}</p>
                 )}
@@ -447,7 +458,7 @@ function VaultPage() {
                       </h3>
                       <div className="item-actions">
                         {sharedItem.canEdit && (
-                          <button onClick={() => handleEdit(item)} className="btn-edit">Edit</button>
+                          <button onClick={() => handleEdit(item, true)} className="btn-edit">Edit</button>
                         )}
                       </div>
                     </div>
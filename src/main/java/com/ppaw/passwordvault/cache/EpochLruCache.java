@@ -0,0 +1,55 @@
+package com.ppaw.passwordvault.cache;
+
+/**
+ * Per-user LRU cache for structures that are built from the database and then kept in sync by change events.
+ *
+ * A build reads the user's epoch first and may only be cached if no change happened meanwhile. The epoch
+ * bump of a change and the epoch check of a build run under the same lock, so either the build is cached
+ * before the change is applied (and the change then updates it) or it is not cached at all.
+ * Epochs are striped over user ids; a collision only makes a build skip the cache.
+ */
+public class EpochLruCache<V> {
+
+    private static final int EPOCH_STRIPES = 1024;
+
+    private final LruCache<Long, V> values;
+    private final int[] epochs = new int[EPOCH_STRIPES];
+
+    public EpochLruCache(int capacity) {
+        this.values = new LruCache<>(capacity);
+    }
+
+    public V get(Long userId) {
+        return values.get(userId);
+    }
+
+    /**
+     * Epoch to pass to putIfUnchanged; read before loading the data the value is built from.
+     */
+    public synchronized int epoch(Long userId) {
+        return epochs[stripe(userId)];
+    }
+
+    /**
+     * Caches a value built after epoch(userId) returned the given epoch, unless a change was recorded since.
+     */
+    public synchronized boolean putIfUnchanged(Long userId, int epoch, V value) {
+        if (epochs[stripe(userId)] != epoch) {
+            return false;
+        }
+        values.put(userId, value);
+        return true;
+    }
+
+    /**
+     * Records a change for the user and returns the cached value (null if none) for the caller to update.
+     */
+    public synchronized V changed(Long userId) {
+        epochs[stripe(userId)]++;
+        return values.get(userId);
+    }
+
+    private static int stripe(Long userId) {
+        return (int) Math.floorMod(userId, (long) EPOCH_STRIPES);
+    }
+}
@@ -0,0 +1,12 @@
+package com.ppaw.passwordvault.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (e.g. change journal retention).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
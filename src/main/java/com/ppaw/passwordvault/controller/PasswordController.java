@@ -0,0 +1,77 @@
+package com.ppaw.passwordvault.controller;
+
+import com.ppaw.passwordvault.dto.ApiResponse;
+import com.ppaw.passwordvault.dto.GeneratedPassphrasesDTO;
+import com.ppaw.passwordvault.dto.GeneratedPasswordsDTO;
+import com.ppaw.passwordvault.dto.PassphraseGenerateRequestDTO;
+import com.ppaw.passwordvault.dto.PasswordCheckDTO;
+import com.ppaw.passwordvault.dto.PasswordCheckRequestDTO;
+import com.ppaw.passwordvault.dto.PasswordGenerateRequestDTO;
+import com.ppaw.passwordvault.generator.PassphraseGeneratorService;
+import com.ppaw.passwordvault.generator.PasswordGeneratorService;
+import com.ppaw.passwordvault.health.PasswordCheckService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller for password tools (password and passphrase generators, strength and breach checks)
+ */
+@RestController
+@RequestMapping("/api/passwords")
+@RequiredArgsConstructor
+public class PasswordController {
+
+    private final PasswordCheckService passwordCheckService;
+    private final PasswordGeneratorService passwordGeneratorService;
+    private final PassphraseGeneratorService passphraseGeneratorService;
+
+    /**
+     * Generate one or many (bulk) random passwords within the user's plan limits
+     */
+    @PostMapping("/generate")
+    public ResponseEntity<ApiResponse<GeneratedPasswordsDTO>> generatePasswords(
+            @RequestBody PasswordGenerateRequestDTO generateRequest,
+            HttpServletRequest request) {
+        Long userId = getUserId(request);
+        GeneratedPasswordsDTO result = passwordGeneratorService.generate(userId, generateRequest);
+        return ResponseEntity.ok(ApiResponse.success("Passwords generated successfully", result));
+    }
+
+    /**
+     * Generate diceware-style passphrases within the user's plan limits
+     */
+    @PostMapping("/passphrase")
+    public ResponseEntity<ApiResponse<GeneratedPassphrasesDTO>> generatePassphrases(
+            @RequestBody PassphraseGenerateRequestDTO generateRequest,
+            HttpServletRequest request) {
+        Long userId = getUserId(request);
+        GeneratedPassphrasesDTO result = passphraseGeneratorService.generate(userId, generateRequest);
+        return ResponseEntity.ok(ApiResponse.success("Passphrases generated successfully", result));
+    }
+
+    /**
+     * Batch strength estimate + breach check; results are in request order.
+     * Scores are only reliable with a ranked list in vault.strength.dictionary-path (see strengthLimited)
+     */
+    @PostMapping("/check")
+    public ResponseEntity<ApiResponse<List<PasswordCheckDTO>>> checkPasswords(
+            @RequestBody PasswordCheckRequestDTO checkRequest) {
+        List<PasswordCheckDTO> results = passwordCheckService.checkAll(checkRequest.getPasswords());
+        return ResponseEntity.ok(ApiResponse.success("Passwords checked successfully", results));
+    }
+
+    private Long getUserId(HttpServletRequest request) {
+        Object userIdObj = request.getAttribute("userId");
+        if (userIdObj == null) {
+            throw new RuntimeException("User ID not found in request");
+        }
+        return (Long) userIdObj;
+    }
+}
@@ -1,17 +1,44 @@
 package com.ppaw.passwordvault.controller;
 
 import com.ppaw.passwordvault.dto.ApiResponse;
+import com.ppaw.passwordvault.dto.TagCountDTO;
+import com.ppaw.passwordvault.dto.VaultBulkRequestDTO;
+import com.ppaw.passwordvault.dto.VaultBulkResultDTO;
+import com.ppaw.passwordvault.dto.VaultChangesDTO;
+import com.ppaw.passwordvault.dto.VaultHealthReportDTO;
 import com.ppaw.passwordvault.dto.VaultItemCreateDTO;
 import com.ppaw.passwordvault.dto.VaultItemDTO;
+import com.ppaw.passwordvault.dto.VaultItemPageDTO;
+import com.ppaw.passwordvault.dto.VaultItemSearchPageDTO;
+import com.ppaw.passwordvault.dto.VaultItemSecretDTO;
+import com.ppaw.passwordvault.dto.VaultItemSummaryDTO;
 import com.ppaw.passwordvault.dto.VaultItemUpdateDTO;
+import com.ppaw.passwordvault.dto.VaultSummaryDTO;
+import com.ppaw.passwordvault.exception.ValidationException;
+import com.ppaw.passwordvault.health.VaultHealthService;
+import com.ppaw.passwordvault.model.VaultStorageMode;
+import com.ppaw.passwordvault.push.VaultEventHub;
+import com.ppaw.passwordvault.search.VaultAutofillService;
+import com.ppaw.passwordvault.search.VaultLookupService;
+import com.ppaw.passwordvault.search.VaultTypeaheadService;
+import com.ppaw.passwordvault.service.VaultChangeJournalService;
+import com.ppaw.passwordvault.service.VaultItemHistoryService;
 import com.ppaw.passwordvault.service.VaultItemService;
+import com.ppaw.passwordvault.service.VaultSummaryService;
+import com.ppaw.passwordvault.service.VaultTagService;
+import com.ppaw.passwordvault.service.VaultVersionService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -24,15 +51,200 @@ import java.util.List;
 public class VaultController {
 
     private final VaultItemService vaultItemService;
+    private final VaultTypeaheadService vaultTypeaheadService;
+    private final VaultAutofillService vaultAutofillService;
+    private final VaultLookupService vaultLookupService;
+    private final VaultVersionService vaultVersionService;
+    private final VaultChangeJournalService vaultChangeJournalService;
+    private final VaultItemHistoryService vaultItemHistoryService;
+    private final VaultEventHub vaultEventHub;
+    private final VaultHealthService vaultHealthService;
+    private final VaultTagService vaultTagService;
+    private final VaultSummaryService vaultSummaryService;
 
     /**
-     * Get all vault items for the authenticated user
+     * Get all vault items for the authenticated user.
+     * Supports conditional GET: answers 304 when If-None-Match matches the current vault version.
      */
     @GetMapping
     public ResponseEntity<ApiResponse<List<VaultItemDTO>>> getAllVaultItems(HttpServletRequest request) {
         Long userId = getUserId(request);
+        // Read the version before the items: a concurrent change can only make the ETag older, never newer
+        String etag = vaultVersionService.getETag(userId);
+        if (VaultVersionService.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         List<VaultItemDTO> items = vaultItemService.getAllVaultItems(userId);
-        return ResponseEntity.ok(ApiResponse.success("Vault items retrieved successfully", items));
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .body(ApiResponse.success("Vault items retrieved successfully", items));
+    }
+
+    /**
+     * Get one page of vault items (metadata only) using keyset pagination.
+     * Pass the returned nextCursor to get the following page.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<ApiResponse<VaultItemPageDTO>> getVaultItemPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false, defaultValue = "updated") String sort,
+            @RequestParam(required = false) String folder,
+            @RequestParam(required = false) Boolean favorite,
+            @RequestParam(required = false) List<String> tag,
+            HttpServletRequest request) {
+        Long userId = getUserId(request);
+        VaultItemPageDTO page = vaultItemService.getVaultItemPage(userId, cursor, size, sort, folder, favorite, tag);
+        return ResponseEntity.ok(ApiResponse.success("Vault items retrieved successfully", page));
+    }
+
+    /**
+     * Current storage mode: SERVER (server-side encryption) or CLIENT (client sends ciphertext only).
+     */
+    @GetMapping("/storage-mode")
+    public ResponseEntity<ApiResponse<VaultStorageMode>> getStorageMode(HttpServletRequest request) {
+        Long userId = getUserId(request);
+        return ResponseEntity.ok(ApiResponse.success("Storage mode retrieved successfully",
+                vaultItemService.getStorageMode(userId)));
+    }
+
+    /**
+     * Change the storage mode (only while the vault is empty).
+     */
+    @PutMapping("/storage-mode")
+    public ResponseEntity<ApiResponse<VaultStorageMode>> changeStorageMode(
+            @RequestParam VaultStorageMode mode,
+            HttpServletRequest request) {
+        Long userId = getUserId(request);
+        return ResponseEntity.ok(ApiResponse.success("Storage mode changed successfully",
+                vaultItemService.changeStorageMode(userId, mode)));
+    }
+
+    /**
+     * Vault summary: folder tree with counts, favorite and total counts, last modification.
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<ApiResponse<VaultSummaryDTO>> getSummary(HttpServletRequest request) {
+        Long userId = getUserId(request);
+        VaultSummaryDTO summary = vaultSummaryService.getSummary(userId);
+        return ResponseEntity.ok(ApiResponse.success("Vault summary retrieved successfully", summary));
+    }
+
+    /**
+     * Tag facets: item count per tag among the items matching the optional folder, favorite and tag filters.
+     * Repeat "tag" (or pass a comma-separated list) to require several tags.
+     */
+    @GetMapping("/tags")
+    public ResponseEntity<ApiResponse<List<TagCountDTO>>> getTagCounts(
+            @RequestParam(required = false) String folder,
+            @RequestParam(required = false) Boolean favorite,
+            @RequestParam(required = false) List<String> tag,
+            HttpServletRequest request) {
+        Long userId = getUserId(request);
+        List<TagCountDTO> counts = vaultTagService.getTagCounts(userId, folder, favorite, tag);
+        return ResponseEntity.ok(ApiResponse.success("Tag counts retrieved successfully", counts));
+    }
+
+    /**
+     * Delta sync: changes after the client's last-seen seq, deletions included as tombstones.
+     * If fullResync is true the client must refetch the vault and continue from latestSeq.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ApiResponse<VaultChangesDTO>> getChanges(
+            @RequestParam(required = false, defaultValue = "0") long since,
+            @RequestParam(required = false) Integer limit,
+            HttpServletRequest request) {
+        Long userId = getUserId(request);
+        VaultChangesDTO changes = vaultChangeJournalService.getChangesSince(userId, since, limit);
+        return ResponseEntity.ok(ApiResponse.success("Vault changes retrieved successfully", changes));
+    }
+
+    /**
+     * Server-Sent Events stream of committed changes to the user's vault (item id, operation, new version).
+     * The first event is a "resync" carrying the current version; a later "resync" means events were
+     * dropped and the client should catch up through /changes.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(HttpServletRequest request) {
+        Long userId = getUserId(request);
+        return vaultEventHub.subscribe(userId, vaultVersionService.getVersion(userId));
+    }
+
+    /**
+     * Search vault items (full-text, with substring fallback). Paginated, metadata only.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<VaultItemSearchPageDTO>> searchVaultItems(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String mode,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            HttpServletRequest request) {
+        Long userId = getUserId(request);
+        VaultItemSearchPageDTO result = vaultItemService.searchVaultItems(userId, query, mode, page, size);
+        return ResponseEntity.ok(ApiResponse.success("Search completed successfully", result));
+    }
+
+    /**
+     * Search-as-you-type: prefix match on titles, usernames and URL hosts from an in-memory index.
+     */
+    @GetMapping("/typeahead")
+    public ResponseEntity<ApiResponse<List<VaultItemSummaryDTO>>> typeahead(
+            @RequestParam("q") String query,
+            @RequestParam(required = false, defaultValue = "10") Integer limit,
+            HttpServletRequest request) {
+        Long userId = getUserId(request);
+        List<VaultItemSummaryDTO> items = vaultTypeaheadService.search(userId, query, limit);
+        return ResponseEntity.ok(ApiResponse.success("Suggestions retrieved successfully", items));
+    }
+
+    /**
+     * Autofill: vault items saved for the page host or one of its parent domains (never sibling subdomains).
+     */
+    @GetMapping("/autofill")
+    public ResponseEntity<ApiResponse<List<VaultItemSummaryDTO>>> autofill(
+            @RequestParam("url") String pageUrl,
+            HttpServletRequest request) {
+        Long userId = getUserId(request);
+        List<VaultItemSummaryDTO> items = vaultAutofillService.findMatches(userId, pageUrl);
+        return ResponseEntity.ok(ApiResponse.success("Matching vault items retrieved successfully", items));
+    }
+
+    /**
+     * Security report: reused, weak and old passwords (cached per vault version)
+     */
+    @GetMapping("/health")
+    public ResponseEntity<ApiResponse<VaultHealthReportDTO>> getHealthReport(HttpServletRequest request) {
+        Long userId = getUserId(request);
+        VaultHealthReportDTO report = vaultHealthService.getReport(userId);
+        return ResponseEntity.ok(ApiResponse.success("Vault health report generated successfully", report));
+    }
+
+    /**
+     * The vault (metadata only) as it was at the given moment, e.g. ?at=2026-10-01T12:00:00
+     */
+    @GetMapping("/as-of")
+    public ResponseEntity<ApiResponse<List<VaultItemSummaryDTO>>> getVaultAsOf(
+            @RequestParam("at") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at,
+            HttpServletRequest request) {
+        Long userId = getUserId(request);
+        List<VaultItemSummaryDTO> items = vaultItemHistoryService.getVaultAsOf(userId, at);
+        return ResponseEntity.ok(ApiResponse.success("Vault items as of " + at + " retrieved successfully", items));
+    }
+
+    /**
+     * Exact-match lookup by username, URL host, registrable domain and/or title (blind indexes).
+     */
+    @GetMapping("/lookup")
+    public ResponseEntity<ApiResponse<List<VaultItemSummaryDTO>>> lookup(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String host,
+            @RequestParam(required = false) String domain,
+            @RequestParam(required = false) String title,
+            HttpServletRequest request) {
+        Long userId = getUserId(request);
+        List<VaultItemSummaryDTO> items = vaultLookupService.lookup(userId, username, host, domain, title);
+        return ResponseEntity.ok(ApiResponse.success("Matching vault items retrieved successfully", items));
     }
 
     /**
@@ -44,7 +256,21 @@ public class VaultController {
             HttpServletRequest request) {
         Long userId = getUserId(request);
         VaultItemDTO item = vaultItemService.getVaultItemById(id, userId);
-        return ResponseEntity.ok(ApiResponse.success("Vault item retrieved successfully", item));
+        return ResponseEntity.ok()
+                .eTag(itemETag(item))
+                .body(ApiResponse.success("Vault item retrieved successfully", item));
+    }
+
+    /**
+     * Reveal the password and notes of a vault item. This is the only endpoint that reads the secret columns.
+     */
+    @GetMapping("/{id}/secret")
+    public ResponseEntity<ApiResponse<VaultItemSecretDTO>> revealSecret(
+            @PathVariable Long id,
+            HttpServletRequest request) {
+        Long userId = getUserId(request);
+        VaultItemSecretDTO secret = vaultItemService.revealSecret(id, userId);
+        return ResponseEntity.ok(ApiResponse.success("Vault item secret retrieved successfully", secret));
     }
 
     /**
@@ -67,10 +293,13 @@ public class VaultController {
     public ResponseEntity<ApiResponse<VaultItemDTO>> updateVaultItem(
             @PathVariable Long id,
             @Valid @RequestBody VaultItemUpdateDTO updateDTO,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             HttpServletRequest request) {
         Long userId = getUserId(request);
-        VaultItemDTO item = vaultItemService.updateVaultItem(id, userId, updateDTO);
-        return ResponseEntity.ok(ApiResponse.success("Vault item updated successfully", item));
+        VaultItemDTO item = vaultItemService.updateVaultItem(id, userId, updateDTO, parseIfMatch(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(itemETag(item))
+                .body(ApiResponse.success("Vault item updated successfully", item));
     }
 
     /**
@@ -85,6 +314,40 @@ public class VaultController {
         return ResponseEntity.ok(ApiResponse.success("Vault item deleted successfully", null));
     }
 
+    /**
+     * Bulk create/update/delete in a single transaction, with per-item results
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponse<VaultBulkResultDTO>> executeBulk(
+            @RequestBody VaultBulkRequestDTO bulkRequest,
+            HttpServletRequest request) {
+        Long userId = getUserId(request);
+        VaultBulkResultDTO result = vaultItemService.executeBulk(userId, bulkRequest);
+        return ResponseEntity.ok(ApiResponse.success("Bulk operation completed", result));
+    }
+
+    // Item ETag is its @Version value, e.g. "3"
+    private static String itemETag(VaultItemDTO item) {
+        return "\"" + item.getVersion() + "\"";
+    }
+
+    // Accepts "3", W/"3" or 3; "*" or no header means no version check
+    private static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        value = value.replace("\"", "");
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid If-Match header: " + ifMatch);
+        }
+    }
+
     /**
      * Extract userId from request attribute (set by AuthInterceptor)
      */
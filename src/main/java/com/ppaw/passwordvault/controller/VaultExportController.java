@@ -6,7 +6,7 @@ import com.ppaw.passwordvault.dto.ServicePlanDTO;
 import com.ppaw.passwordvault.dto.VaultItemDTO;
 import com.ppaw.passwordvault.service.ServicePlanService;
 import com.ppaw.passwordvault.service.UserService;
-import com.ppaw.passwordvault.service.VaultItemService;
+import com.ppaw.passwordvault.service.VaultExportService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -18,7 +18,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -33,9 +35,9 @@ public class VaultExportController {
 
     private static final Logger logger = LoggerFactory.getLogger(VaultExportController.class);
 
-    private final VaultItemService vaultItemService;
     private final UserService userService;
     private final ServicePlanService servicePlanService;
+    private final VaultExportService vaultExportService;
     private final ObjectMapper objectMapper;
 
     /**
@@ -58,7 +60,7 @@ public class VaultExportController {
                     .body(ApiResponse.error("Export is not available for your plan. Please upgrade to Usual or Premium.", null));
         }
         
-        List<VaultItemDTO> items = vaultItemService.getAllVaultItems(userId);
+        List<VaultItemDTO> items = vaultExportService.getExportItems(userId);
         
         Map<String, Object> exportData = new HashMap<>();
         exportData.put("userId", userId);
@@ -71,10 +73,10 @@ public class VaultExportController {
     }
 
     /**
-     * Export vault as downloadable JSON file
+     * Export vault as downloadable JSON file, streamed item by item
      */
     @GetMapping("/download")
-    public ResponseEntity<String> downloadVault(HttpServletRequest request) {
+    public ResponseEntity<StreamingResponseBody> downloadVault(HttpServletRequest request) {
         logger.info("GET /api/vault/export/download - Request to download vault export");
         try {
             Long userId = getUserId(request);
@@ -83,59 +85,51 @@ public class VaultExportController {
             var user = userService.getUserById(userId);
             if (user.getServicePlanId() == null) {
                 logger.warn("Export failed: User {} has no service plan assigned", userId);
-                String errorJson = objectMapper.writerWithDefaultPrettyPrinter()
-                        .writeValueAsString(ApiResponse.error("User has no service plan assigned", null));
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .body(errorJson);
+                return errorResponse(HttpStatus.BAD_REQUEST, "User has no service plan assigned");
             }
             
             ServicePlanDTO plan = servicePlanService.getServicePlanWithLimits(user.getServicePlanId());
             if (plan.getLimits() == null || !plan.getLimits().getCanExport()) {
                 logger.warn("Export failed: Export not available for user {} plan", userId);
-                String errorJson = objectMapper.writerWithDefaultPrettyPrinter()
-                        .writeValueAsString(ApiResponse.error("Export is not available for your plan. Please upgrade to Usual or Premium.", null));
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .body(errorJson);
+                return errorResponse(HttpStatus.BAD_REQUEST,
+                        "Export is not available for your plan. Please upgrade to Usual or Premium.");
             }
             
-            List<VaultItemDTO> items = vaultItemService.getAllVaultItems(userId);
-            
-            Map<String, Object> exportData = new HashMap<>();
-            exportData.put("userId", userId);
-            exportData.put("username", user.getUsername());
-            exportData.put("exportDate", java.time.LocalDateTime.now().toString());
-            exportData.put("itemCount", items.size());
-            exportData.put("items", items);
-            
-            // Convert to JSON using ObjectMapper with pretty printing
-            String json = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(exportData);
+            String username = user.getUsername();
+            // Written after the headers are sent: a failure past this point can only abort the response
+            StreamingResponseBody body = out -> {
+                int itemCount = vaultExportService.exportVault(userId, username, out);
+                logger.info("GET /api/vault/export/download - Successfully exported {} items for user {}", itemCount, userId);
+            };
             
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
             headers.setContentDispositionFormData("attachment", "vault-export.json");
             
-            logger.info("GET /api/vault/export/download - Successfully exported {} items for user {}", items.size(), userId);
             return ResponseEntity.ok()
                     .headers(headers)
-                    .body(json);
+                    .body(body);
         } catch (Exception e) {
             logger.error("GET /api/vault/export/download - Error exporting vault", e);
-            try {
-                // Serialize error response to JSON string
-                String errorJson = objectMapper.writerWithDefaultPrettyPrinter()
-                        .writeValueAsString(ApiResponse.error("Failed to export vault: " + e.getMessage(), null));
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .body(errorJson);
-            } catch (Exception jsonException) {
-                logger.error("Failed to serialize error response to JSON", jsonException);
-                // Fallback to plain text if JSON serialization fails
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                        .contentType(MediaType.TEXT_PLAIN)
-                        .body("Failed to export vault: " + e.getMessage());
-            }
+            return errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to export vault: " + e.getMessage());
+        }
+    }
+
+    private ResponseEntity<StreamingResponseBody> errorResponse(HttpStatus status, String message) {
+        try {
+            // Serialize error response to JSON
+            byte[] errorJson = objectMapper.writerWithDefaultPrettyPrinter()
+                    .writeValueAsBytes(ApiResponse.error(message, null));
+            return ResponseEntity.status(status)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> out.write(errorJson));
+        } catch (Exception jsonException) {
+            logger.error("Failed to serialize error response to JSON", jsonException);
+            // Fallback to plain text if JSON serialization fails
+            byte[] errorText = message.getBytes(StandardCharsets.UTF_8);
+            return ResponseEntity.status(status)
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .body(out -> out.write(errorText));
         }
     }
 
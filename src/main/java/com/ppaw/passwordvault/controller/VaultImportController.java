@@ -2,8 +2,9 @@ package com.ppaw.passwordvault.controller;
 
 import com.ppaw.passwordvault.dto.ApiResponse;
 import com.ppaw.passwordvault.dto.ServicePlanDTO;
+import com.ppaw.passwordvault.dto.VaultBulkRequestDTO;
+import com.ppaw.passwordvault.dto.VaultBulkResultDTO;
 import com.ppaw.passwordvault.dto.VaultItemCreateDTO;
-import com.ppaw.passwordvault.dto.VaultItemDTO;
 import com.ppaw.passwordvault.service.ServicePlanService;
 import com.ppaw.passwordvault.service.UserService;
 import com.ppaw.passwordvault.service.VaultItemService;
@@ -59,29 +60,46 @@ public class VaultImportController {
                     .body(ApiResponse.error("Import is not available for your plan. Please upgrade to Premium.", null));
         }
         
-        List<VaultItemDTO> imported = new ArrayList<>();
-        List<String> errors = new ArrayList<>();
-        
+        // All items go through the bulk API: one transaction, batched inserts, quota checked once
+        List<VaultItemCreateDTO> creates = new ArrayList<>();
         for (Map<String, Object> itemData : importRequest.getItems()) {
+            VaultItemCreateDTO createDTO = new VaultItemCreateDTO();
+            createDTO.setTitle((String) itemData.get("title"));
+            createDTO.setUsername((String) itemData.get("username"));
+            createDTO.setPassword((String) itemData.get("password"));
+            createDTO.setUrl((String) itemData.get("url"));
+            createDTO.setNotes((String) itemData.get("notes"));
+            createDTO.setFolder((String) itemData.get("folder"));
+            createDTO.setTags((String) itemData.get("tags"));
+            creates.add(createDTO);
+        }
+        
+        int importedCount = 0;
+        List<String> errors = new ArrayList<>();
+        for (int start = 0; start < creates.size(); start += VaultItemService.MAX_BULK_OPERATIONS) {
+            List<VaultItemCreateDTO> chunk = creates.subList(start, Math.min(creates.size(), start + VaultItemService.MAX_BULK_OPERATIONS));
+            VaultBulkRequestDTO bulkRequest = new VaultBulkRequestDTO();
+            bulkRequest.setCreate(new ArrayList<>(chunk));
+            VaultBulkResultDTO bulkResult;
             try {
-                VaultItemCreateDTO createDTO = new VaultItemCreateDTO();
-                createDTO.setTitle((String) itemData.get("title"));
-                createDTO.setUsername((String) itemData.get("username"));
-                createDTO.setPassword((String) itemData.get("password"));
-                createDTO.setUrl((String) itemData.get("url"));
-                createDTO.setNotes((String) itemData.get("notes"));
-                createDTO.setFolder((String) itemData.get("folder"));
-                createDTO.setTags((String) itemData.get("tags"));
-                
-                VaultItemDTO created = vaultItemService.createVaultItem(userId, createDTO);
-                imported.add(created);
+                bulkResult = vaultItemService.executeBulk(userId, bulkRequest);
             } catch (Exception e) {
-                errors.add("Failed to import item: " + itemData.get("title") + " - " + e.getMessage());
+                // The chunk's transaction rolled back: none of its items were imported, later chunks still run
+                for (VaultItemCreateDTO failed : chunk) {
+                    errors.add("Failed to import item: " + failed.getTitle() + " - " + e.getMessage());
+                }
+                continue;
+            }
+            importedCount += bulkResult.getSucceeded();
+            for (VaultBulkResultDTO.ItemResult itemResult : bulkResult.getResults()) {
+                if (!itemResult.isSuccess()) {
+                    errors.add("Failed to import item: " + chunk.get(itemResult.getIndex()).getTitle() + " - " + itemResult.getError());
+                }
             }
         }
         
         ImportResult result = new ImportResult();
-        result.setImportedCount(imported.size());
+        result.setImportedCount(importedCount);
         result.setErrorCount(errors.size());
         result.setErrors(errors);
         
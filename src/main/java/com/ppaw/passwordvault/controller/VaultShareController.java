@@ -2,19 +2,14 @@ package com.ppaw.passwordvault.controller;
 
 import com.ppaw.passwordvault.dto.ApiResponse;
 import com.ppaw.passwordvault.dto.ServicePlanDTO;
-import com.ppaw.passwordvault.dto.UserDTO;
 import com.ppaw.passwordvault.dto.VaultItemDTO;
-import com.ppaw.passwordvault.exception.ResourceNotFoundException;
-import com.ppaw.passwordvault.exception.ValidationException;
 import com.ppaw.passwordvault.model.SharedVaultItem;
 import com.ppaw.passwordvault.model.User;
 import com.ppaw.passwordvault.model.VaultItem;
 import com.ppaw.passwordvault.repository.SharedVaultItemRepository;
-import com.ppaw.passwordvault.repository.UserRepository;
-import com.ppaw.passwordvault.repository.VaultItemRepository;
 import com.ppaw.passwordvault.service.ServicePlanService;
 import com.ppaw.passwordvault.service.UserService;
-import com.ppaw.passwordvault.service.VaultItemService;
+import com.ppaw.passwordvault.service.VaultShareService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
@@ -32,12 +27,10 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class VaultShareController {
 
-    private final VaultItemRepository vaultItemRepository;
-    private final UserRepository userRepository;
     private final SharedVaultItemRepository sharedVaultItemRepository;
     private final UserService userService;
     private final ServicePlanService servicePlanService;
-    private final VaultItemService vaultItemService;
+    private final VaultShareService vaultShareService;
 
     @Data
     public static class ShareRequest {
@@ -68,36 +61,8 @@ public class VaultShareController {
                     .body(ApiResponse.error("Sharing is not available for your plan. Please upgrade to Premium.", null));
         }
         
-        // Get vault item
-        VaultItem vaultItem = vaultItemRepository.findById(shareRequest.getVaultItemId())
-                .orElseThrow(() -> new ResourceNotFoundException("VaultItem", shareRequest.getVaultItemId()));
-        
-        if (!vaultItem.getUser().getId().equals(userId)) {
-            throw new ValidationException("Vault item does not belong to you");
-        }
-        
-        // Find user to share with
-        User sharedWithUser = userRepository.findByUsernameOrEmail(shareRequest.getSharedWithUsernameOrEmail())
-                .orElseThrow(() -> new ResourceNotFoundException("User with username/email " + shareRequest.getSharedWithUsernameOrEmail() + " not found"));
-        
-        if (sharedWithUser.getId().equals(userId)) {
-            throw new ValidationException("Cannot share with yourself");
-        }
-        
-        // Check if already shared
-        if (sharedVaultItemRepository.findByVaultItemIdAndSharedWithUserId(
-                shareRequest.getVaultItemId(), sharedWithUser.getId()).isPresent()) {
-            throw new ValidationException("Vault item is already shared with this user");
-        }
-        
-        // Create share
-        SharedVaultItem share = new SharedVaultItem();
-        share.setVaultItem(vaultItem);
-        share.setSharedByUser(userRepository.findById(userId).orElseThrow());
-        share.setSharedWithUser(sharedWithUser);
-        share.setCanEdit(shareRequest.getCanEdit() != null ? shareRequest.getCanEdit() : false);
-        
-        sharedVaultItemRepository.save(share);
+        User sharedWithUser = vaultShareService.shareVaultItem(userId, shareRequest.getVaultItemId(),
+                shareRequest.getSharedWithUsernameOrEmail(), shareRequest.getCanEdit());
         
         return ResponseEntity.ok(ApiResponse.success(
                 "Vault item shared successfully with " + sharedWithUser.getUsername(), null));
@@ -134,6 +99,7 @@ public class VaultShareController {
                             .isFavorite(item.getIsFavorite())
                             .createdAt(item.getCreatedAt())
                             .updatedAt(item.getUpdatedAt())
+                            .version(item.getVersion())
                             .build();
                     dto.setVaultItem(vaultItemDTO);
                     dto.setSharedByUsername(share.getSharedByUser() != null ? share.getSharedByUser().getUsername() : "Unknown");
@@ -0,0 +1,91 @@
+package com.ppaw.passwordvault.crypto;
+
+import com.ppaw.passwordvault.model.VaultItem;
+import com.ppaw.passwordvault.search.UrlHosts;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * Keyed blind indexes (truncated HMAC-SHA256) for equality lookups on fields that may be stored
+ * encrypted. The value is bound to the user id, so equal values of different users do not match.
+ * The HMAC key is derived from the master key and never stored.
+ */
+@Service
+public class BlindIndexService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int INDEX_BYTES = 16;
+
+    private final ThreadLocal<Mac> mac;
+
+    public BlindIndexService(VaultCryptoService vaultCryptoService) {
+        SecretKeySpec key = new SecretKeySpec(vaultCryptoService.deriveKey("blind-index:v1"), ALGORITHM);
+        // Initialized once per thread; doFinal() resets the Mac for the next value
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(ALGORITHM);
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 is not available", e);
+            }
+        });
+    }
+
+    /**
+     * Computes all blind index columns of an item from its current field values.
+     */
+    public void apply(VaultItem item, Long userId) {
+        item.setTitleBidx(titleIndex(userId, item.getTitle()));
+        item.setUsernameBidx(usernameIndex(userId, item.getUsername()));
+        item.setUrlHostBidx(hostIndex(userId, item.getUrlHost()));
+        item.setUrlDomainBidx(domainIndex(userId, item.getUrlHost()));
+    }
+
+    public String titleIndex(Long userId, String title) {
+        return index(userId, "title", normalizeText(title));
+    }
+
+    public String usernameIndex(Long userId, String username) {
+        return index(userId, "username", normalizeText(username));
+    }
+
+    /**
+     * @param host a host as returned by UrlHosts.normalizeHost
+     */
+    public String hostIndex(Long userId, String host) {
+        return index(userId, "host", host);
+    }
+
+    /**
+     * Index of the registrable domain, so "login.example.com" and "example.com" match each other.
+     */
+    public String domainIndex(Long userId, String host) {
+        return index(userId, "domain", host != null ? UrlHosts.registrableDomain(host) : null);
+    }
+
+    private static String normalizeText(String value) {
+        if (value == null) {
+            return null;
+        }
+        String normalized = value.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    private String index(Long userId, String field, String value) {
+        if (value == null) {
+            return null;
+        }
+        Mac instance = mac.get();
+        instance.update((userId + ":" + field + ":").getBytes(StandardCharsets.UTF_8));
+        byte[] digest = instance.doFinal(value.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, INDEX_BYTES));
+    }
+}
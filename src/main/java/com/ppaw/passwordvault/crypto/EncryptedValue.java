@@ -0,0 +1,16 @@
+package com.ppaw.passwordvault.crypto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Result of VaultCryptoService.encrypt, mapped onto the existing
+ * encrypted_password / password_iv / password_salt columns.
+ */
+@Data
+@AllArgsConstructor
+public class EncryptedValue {
+    private String ciphertext; // base64(ciphertext || GCM tag)
+    private String iv;         // base64, 12 bytes
+    private String scheme;     // VaultCryptoService.SCHEME_AES_GCM_V1
+}
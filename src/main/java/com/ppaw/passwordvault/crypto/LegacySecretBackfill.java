@@ -0,0 +1,95 @@
+package com.ppaw.passwordvault.crypto;
+
+import com.ppaw.passwordvault.service.VaultItemService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Re-encrypts secrets still stored in the pre-AES format ("encrypted_" + plaintext) in vault_items and
+ * password_history. VaultCryptoService.decrypt() only reads that format; this moves the rows to AES-GCM
+ * under the owner's data key.
+ *
+ * Runs in id-ordered batches at startup. Each row is only overwritten if it still holds the value that was
+ * read, so an update committed in the meantime wins, and a restart resumes with the remaining rows.
+ */
+@Service
+public class LegacySecretBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(LegacySecretBackfill.class);
+
+    // Anything but a current scheme marker in password_salt is the legacy format
+    private static final String LEGACY_CONDITION = "password_salt NOT IN ('" + VaultCryptoService.SCHEME_AES_GCM_V1 +
+            "', '" + VaultItemService.CLIENT_ENCRYPTION_SCHEME + "')";
+
+    private static final String SELECT_ITEMS_SQL = "SELECT id, user_id, encrypted_password, password_iv, password_salt " +
+            "FROM vault_schema.vault_items WHERE " + LEGACY_CONDITION + " AND id > ? ORDER BY id LIMIT ?";
+
+    private static final String SELECT_HISTORY_SQL = "SELECT h.id, v.user_id, h.encrypted_password, h.password_iv, " +
+            "h.password_salt FROM vault_schema.password_history h " +
+            "JOIN vault_schema.vault_items v ON v.id = h.vault_item_id " +
+            "WHERE h." + LEGACY_CONDITION + " AND h.id > ? ORDER BY h.id LIMIT ?";
+
+    private static final String UPDATE_SQL = "UPDATE vault_schema.%s SET encrypted_password = ?, password_iv = ?, " +
+            "password_salt = ? WHERE id = ? AND encrypted_password = ? AND password_salt = ?";
+
+    private final VaultCryptoService vaultCryptoService;
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public LegacySecretBackfill(VaultCryptoService vaultCryptoService,
+                                JdbcTemplate jdbcTemplate,
+                                @Value("${vault.crypto.legacy-backfill-batch-size:500}") int batchSize) {
+        this.vaultCryptoService = vaultCryptoService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reencryptLegacySecrets() {
+        reencrypt("vault_items", SELECT_ITEMS_SQL);
+        reencrypt("password_history", SELECT_HISTORY_SQL);
+    }
+
+    private void reencrypt(String table, String selectSql) {
+        String updateSql = String.format(UPDATE_SQL, table);
+        long afterId = 0;
+        int updated = 0;
+        try {
+            while (true) {
+                List<Map<String, Object>> rows = jdbcTemplate.queryForList(selectSql, afterId, batchSize);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                List<Object[]> batch = new ArrayList<>(rows.size());
+                for (Map<String, Object> row : rows) {
+                    Long userId = ((Number) row.get("user_id")).longValue();
+                    String ciphertext = (String) row.get("encrypted_password");
+                    String scheme = (String) row.get("password_salt");
+                    afterId = ((Number) row.get("id")).longValue();
+                    String plaintext = vaultCryptoService.decrypt(userId, ciphertext, (String) row.get("password_iv"), scheme);
+                    EncryptedValue encrypted = vaultCryptoService.encrypt(userId, plaintext);
+                    batch.add(new Object[] {
+                            encrypted.getCiphertext(), encrypted.getIv(), encrypted.getScheme(),
+                            afterId, ciphertext, scheme
+                    });
+                }
+                jdbcTemplate.batchUpdate(updateSql, batch);
+                updated += batch.size();
+            }
+            if (updated > 0) {
+                logger.info("Re-encrypted {} legacy secrets in {}", updated, table);
+            }
+        } catch (Exception e) {
+            logger.error("Legacy secret re-encryption of {} stopped after {} rows: {}", table, updated, e.getMessage(), e);
+        }
+    }
+}
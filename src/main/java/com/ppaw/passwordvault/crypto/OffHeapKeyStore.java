@@ -0,0 +1,133 @@
+package com.ppaw.passwordvault.crypto;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fixed-capacity store for unwrapped data keys kept outside the Java heap.
+ *
+ * All key material lives in one direct buffer (capacity x 32 bytes) allocated at startup, so the
+ * memory used by cached keys is fixed and never copied by the GC. Slots are reused in LRU order,
+ * entries expire after a TTL, and a slot is overwritten with zeros whenever its key is evicted,
+ * expires, is removed or the store is closed. Keys are only read by copying into a caller-owned
+ * scratch array (see copyTo), which the caller wipes after use.
+ */
+class OffHeapKeyStore {
+
+    static final int KEY_BYTES = 32;
+
+    private static final byte[] ZEROS = new byte[KEY_BYTES];
+
+    private final ByteBuffer slab;
+    private final long ttlMillis;
+    private final ArrayDeque<Integer> freeSlots;
+    private final LinkedHashMap<Long, Slot> slots = new LinkedHashMap<>(16, 0.75f, true);
+
+    OffHeapKeyStore(int capacity, long ttlMillis) {
+        this.slab = ByteBuffer.allocateDirect(capacity * KEY_BYTES);
+        this.ttlMillis = ttlMillis;
+        this.freeSlots = new ArrayDeque<>(capacity);
+        for (int i = 0; i < capacity; i++) {
+            freeSlots.push(i);
+        }
+    }
+
+    /**
+     * Copies the key of a user into target (KEY_BYTES long).
+     * @return false if the user has no live key in the store
+     */
+    synchronized boolean copyTo(Long userId, byte[] target) {
+        Slot slot = slots.get(userId);
+        if (slot == null) {
+            return false;
+        }
+        if (slot.expiresAt < System.currentTimeMillis()) {
+            release(userId);
+            return false;
+        }
+        slab.get(slot.index * KEY_BYTES, target, 0, KEY_BYTES);
+        return true;
+    }
+
+    /**
+     * Stores a copy of key for the user, evicting (and wiping) the least recently used entry when full.
+     * The caller remains responsible for wiping its own array.
+     */
+    synchronized void put(Long userId, byte[] key) {
+        Slot slot = slots.get(userId);
+        if (slot == null) {
+            if (freeSlots.isEmpty()) {
+                release(slots.keySet().iterator().next());
+            }
+            slot = new Slot(freeSlots.pop());
+            slots.put(userId, slot);
+        }
+        slot.expiresAt = System.currentTimeMillis() + ttlMillis;
+        slab.put(slot.index * KEY_BYTES, key, 0, KEY_BYTES);
+    }
+
+    synchronized void remove(Long userId) {
+        if (slots.containsKey(userId)) {
+            release(userId);
+        }
+    }
+
+    /**
+     * Wipes and frees every expired entry.
+     * @return number of entries removed
+     */
+    synchronized int evictExpired() {
+        long now = System.currentTimeMillis();
+        int evicted = 0;
+        Iterator<Map.Entry<Long, Slot>> iterator = slots.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Slot slot = iterator.next().getValue();
+            if (slot.expiresAt < now) {
+                wipe(slot.index);
+                freeSlots.push(slot.index);
+                iterator.remove();
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    synchronized int size() {
+        return slots.size();
+    }
+
+    /**
+     * Wipes the whole slab; the store is empty afterwards.
+     */
+    synchronized void clear() {
+        for (Slot slot : slots.values()) {
+            freeSlots.push(slot.index);
+        }
+        slots.clear();
+        for (int i = 0; i < slab.capacity() / KEY_BYTES; i++) {
+            wipe(i);
+        }
+    }
+
+    private void release(Long userId) {
+        Slot slot = slots.remove(userId);
+        wipe(slot.index);
+        freeSlots.push(slot.index);
+    }
+
+    private void wipe(int index) {
+        slab.put(index * KEY_BYTES, ZEROS, 0, KEY_BYTES);
+    }
+
+    private static final class Slot {
+        private final int index;
+        private long expiresAt;
+
+        private Slot(int index) {
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.ppaw.passwordvault.crypto;
+
+import javax.crypto.SecretKey;
+
+/**
+ * AES key view over a thread-owned scratch array, used to init a Cipher; the owner zeroes the
+ * array right after Cipher.init.
+ * getEncoded() returns a copy, as the SecretKey contract requires: the JDK cipher keeps the array
+ * it receives as its current key and wipes it on the next init, which must not hit the scratch
+ * array the next key has already been copied into.
+ */
+final class ScratchKey implements SecretKey {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient byte[] key;
+
+    ScratchKey(byte[] key) {
+        this.key = key;
+    }
+
+    @Override
+    public String getAlgorithm() {
+        return "AES";
+    }
+
+    @Override
+    public String getFormat() {
+        return "RAW";
+    }
+
+    @Override
+    public byte[] getEncoded() {
+        return key.clone();
+    }
+}
@@ -0,0 +1,238 @@
+package com.ppaw.passwordvault.crypto;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Envelope encryption for vault secrets.
+ *
+ * Every user has a random AES-256 data key, stored in user_data_keys wrapped (AES-GCM) by the
+ * application master key. Secrets are encrypted with AES-GCM under the user's data key, with a
+ * random 96-bit IV per value and the user id as associated data, so ciphertexts cannot be moved
+ * between users. Unwrapped data keys are kept off-heap in OffHeapKeyStore and copied into a
+ * thread-local scratch array only for the duration of Cipher.init; Cipher instances are
+ * thread-confined and reused (only init with the per-value IV happens per call).
+ */
+@Service
+public class VaultCryptoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VaultCryptoService.class);
+
+    public static final String SCHEME_AES_GCM_V1 = "aes-gcm:v1";
+
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int KEY_BYTES = OffHeapKeyStore.KEY_BYTES;
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+    // Public (in the source): accepted only while the dev profile is active
+    private static final String DEV_MASTER_KEY = "ZGV2LW9ubHktbWFzdGVyLWtleS1jaGFuZ2UtbWUhISE=";
+    private static final String DEV_PROFILE = "dev";
+
+    // Pre-AES values: "encrypted_" + plaintext
+    private static final String LEGACY_PREFIX = "encrypted_";
+
+    private static final ThreadLocal<Cipher> CIPHER = ThreadLocal.withInitial(() -> {
+        try {
+            return Cipher.getInstance(TRANSFORMATION);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("AES/GCM is not available", e);
+        }
+    });
+
+    // Holds a data key only between copyTo and Cipher.init; always zeroed afterwards
+    private static final ThreadLocal<byte[]> KEY_SCRATCH = ThreadLocal.withInitial(() -> new byte[KEY_BYTES]);
+
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+    private final SecretKey masterKey;
+    private final OffHeapKeyStore dataKeys;
+
+    public VaultCryptoService(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${vault.crypto.master-key:}") String masterKeyBase64,
+                              @Value("${vault.crypto.key-cache-size:1000}") int keyCacheSize,
+                              @Value("${vault.crypto.key-cache-ttl-minutes:15}") long keyCacheTtlMinutes,
+                              Environment environment) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        if (masterKeyBase64 == null || masterKeyBase64.isBlank() || masterKeyBase64.equals(DEV_MASTER_KEY)) {
+            if (!environment.acceptsProfiles(Profiles.of(DEV_PROFILE))) {
+                throw new IllegalStateException("vault.crypto.master-key (VAULT_MASTER_KEY) is not set; the development " +
+                        "master key is only used with the '" + DEV_PROFILE + "' profile active");
+            }
+            logger.warn("Using the development vault master key ('{}' profile) - set VAULT_MASTER_KEY in production", DEV_PROFILE);
+            masterKeyBase64 = DEV_MASTER_KEY;
+        }
+        byte[] masterKeyBytes = Base64.getDecoder().decode(masterKeyBase64);
+        if (masterKeyBytes.length != KEY_BYTES) {
+            throw new IllegalStateException("vault.crypto.master-key must be 32 bytes (base64-encoded)");
+        }
+        this.masterKey = new SecretKeySpec(masterKeyBytes, "AES");
+        this.dataKeys = new OffHeapKeyStore(keyCacheSize, keyCacheTtlMinutes * 60_000L);
+        logger.info("VaultCryptoService initialized (off-heap key store: {} keys / {} bytes, ttl: {} min)",
+                keyCacheSize, keyCacheSize * KEY_BYTES, keyCacheTtlMinutes);
+    }
+
+    public EncryptedValue encrypt(Long userId, String plaintext) {
+        byte[] iv = randomBytes(IV_BYTES);
+        byte[] ciphertext = gcmWithDataKey(Cipher.ENCRYPT_MODE, userId, iv, plaintext.getBytes(StandardCharsets.UTF_8));
+        Base64.Encoder encoder = Base64.getEncoder();
+        return new EncryptedValue(encoder.encodeToString(ciphertext), encoder.encodeToString(iv), SCHEME_AES_GCM_V1);
+    }
+
+    /**
+     * Decrypts a value written by encrypt(); values stored before AES-GCM (scheme column holding
+     * anything else) are read in the legacy "encrypted_" format until LegacySecretBackfill re-encrypts them.
+     */
+    public String decrypt(Long userId, String ciphertext, String iv, String scheme) {
+        if (ciphertext == null) {
+            return null;
+        }
+        if (!SCHEME_AES_GCM_V1.equals(scheme)) {
+            return ciphertext.startsWith(LEGACY_PREFIX) ? ciphertext.substring(LEGACY_PREFIX.length()) : ciphertext;
+        }
+        Base64.Decoder decoder = Base64.getDecoder();
+        byte[] plaintext = gcmWithDataKey(Cipher.DECRYPT_MODE, userId, decoder.decode(iv), decoder.decode(ciphertext));
+        return new String(plaintext, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Derives a purpose-specific secret from the master key (HMAC-SHA256(master key, purpose)).
+     */
+    public byte[] deriveKey(String purpose) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(masterKey);
+            return mac.doFinal(purpose.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not derive key for " + purpose, e);
+        }
+    }
+
+    /**
+     * Drops the cached (off-heap) data key of a user; the slot is zeroed.
+     */
+    public void evictDataKey(Long userId) {
+        dataKeys.remove(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${vault.crypto.key-sweep-ms:60000}")
+    public void evictExpiredDataKeys() {
+        int evicted = dataKeys.evictExpired();
+        if (evicted > 0) {
+            logger.debug("Evicted {} expired data keys", evicted);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dataKeys.clear();
+    }
+
+    private byte[] gcmWithDataKey(int mode, Long userId, byte[] iv, byte[] input) {
+        byte[] scratch = KEY_SCRATCH.get();
+        try {
+            if (!dataKeys.copyTo(userId, scratch)) {
+                byte[] key = loadOrCreateDataKey(userId);
+                dataKeys.put(userId, key);
+                System.arraycopy(key, 0, scratch, 0, KEY_BYTES);
+                Arrays.fill(key, (byte) 0);
+            }
+            return gcm(mode, new ScratchKey(scratch), iv, associatedData(userId), input);
+        } finally {
+            Arrays.fill(scratch, (byte) 0);
+        }
+    }
+
+    /**
+     * A new key is committed in its own transaction before first use, so a cached key always
+     * exists in the database even if the caller's transaction rolls back.
+     */
+    private byte[] loadOrCreateDataKey(Long userId) {
+        String wrapped = findWrappedKey(userId);
+        if (wrapped == null) {
+            byte[] newKey = randomBytes(KEY_BYTES);
+            String newWrapped = wrap(userId, newKey);
+            Arrays.fill(newKey, (byte) 0);
+            newTransaction.executeWithoutResult(status -> jdbcTemplate.update(
+                    "INSERT INTO vault_schema.user_data_keys (user_id, wrapped_key) VALUES (?, ?) ON CONFLICT (user_id) DO NOTHING",
+                    userId, newWrapped));
+            // Re-read: a concurrent request may have created the key first
+            wrapped = findWrappedKey(userId);
+            logger.info("Created data key for user id: {}", userId);
+        }
+        return unwrap(userId, wrapped);
+    }
+
+    private String findWrappedKey(Long userId) {
+        List<String> rows = jdbcTemplate.queryForList(
+                "SELECT wrapped_key FROM vault_schema.user_data_keys WHERE user_id = ?", String.class, userId);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private String wrap(Long userId, byte[] dataKey) {
+        byte[] iv = randomBytes(IV_BYTES);
+        byte[] ciphertext = gcm(Cipher.ENCRYPT_MODE, masterKey, iv, keyAssociatedData(userId), dataKey);
+        return Base64.getEncoder().encodeToString(ByteBuffer.allocate(IV_BYTES + ciphertext.length)
+                .put(iv).put(ciphertext).array());
+    }
+
+    private byte[] unwrap(Long userId, String wrapped) {
+        ByteBuffer buffer = ByteBuffer.wrap(Base64.getDecoder().decode(wrapped));
+        byte[] iv = new byte[IV_BYTES];
+        buffer.get(iv);
+        byte[] ciphertext = new byte[buffer.remaining()];
+        buffer.get(ciphertext);
+        return gcm(Cipher.DECRYPT_MODE, masterKey, iv, keyAssociatedData(userId), ciphertext);
+    }
+
+    private static byte[] gcm(int mode, SecretKey key, byte[] iv, byte[] associatedData, byte[] input) {
+        Cipher cipher = CIPHER.get();
+        try {
+            cipher.init(mode, key, new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(associatedData);
+            return cipher.doFinal(input);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Vault encryption failure (" + (mode == Cipher.ENCRYPT_MODE ? "encrypt" : "decrypt") + ")", e);
+        }
+    }
+
+    private byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        secureRandom.nextBytes(bytes);
+        return bytes;
+    }
+
+    private static byte[] associatedData(Long userId) {
+        return ("vault_item:" + userId).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] keyAssociatedData(Long userId) {
+        return ("user_data_key:" + userId).getBytes(StandardCharsets.UTF_8);
+    }
+}
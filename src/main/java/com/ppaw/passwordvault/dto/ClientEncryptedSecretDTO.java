@@ -0,0 +1,29 @@
+package com.ppaw.passwordvault.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Password encrypted on the client (CLIENT storage mode). Stored and returned byte for byte.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientEncryptedSecretDTO {
+    @NotBlank(message = "Ciphertext is required")
+    private String ciphertext; // base64
+
+    @NotBlank(message = "IV is required")
+    private String iv; // base64
+
+    // Declared plaintext length, checked against the plan's maxPasswordLength (not returned on reveal)
+    @NotNull(message = "Plaintext length is required")
+    @Min(value = 1, message = "Plaintext length must be positive")
+    private Integer plaintextLength;
+}
@@ -0,0 +1,19 @@
+package com.ppaw.passwordvault.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GeneratedPassphrasesDTO {
+    private List<String> passphrases;
+    private int words;
+    private long wordlistSize;
+    private double entropyBits; // Exact for the length limit: only passphrases that fit the plan are counted
+}
@@ -0,0 +1,19 @@
+package com.ppaw.passwordvault.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GeneratedPasswordsDTO {
+    private List<String> passwords;
+    private int length;
+    private int alphabetSize;
+    private double entropyBits; // Per password (upper bound: the class requirement removes a few combinations)
+}
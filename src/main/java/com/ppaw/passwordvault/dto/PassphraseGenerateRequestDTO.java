@@ -0,0 +1,18 @@
+package com.ppaw.passwordvault.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Passphrase generator options.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PassphraseGenerateRequestDTO {
+    private Integer words;              // Default 6
+    private String separator = "-";     // 1-3 characters, no letters
+    private String capitalization = "none"; // none | first | upper | random (random: one extra bit per word)
+    private Integer count;              // Default 1
+}
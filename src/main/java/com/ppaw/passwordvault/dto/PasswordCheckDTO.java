@@ -0,0 +1,22 @@
+package com.ppaw.passwordvault.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Server-side checks of a password sent on create/update (not available for client-encrypted items).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PasswordCheckDTO {
+    private Boolean breached; // Found in the local breach corpus (null if no corpus is configured)
+    private Integer strengthScore; // 0 (too guessable) - 4 (very unguessable)
+    private Double guessesLog10;
+    // True when no vault.strength.dictionary-path list is configured: the score then only knows a few hundred
+    // common passwords and overrates the rest, so it should not be shown as a definitive rating
+    private Boolean strengthLimited;
+}
@@ -0,0 +1,15 @@
+package com.ppaw.passwordvault.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PasswordCheckRequestDTO {
+    private List<String> passwords = new ArrayList<>();
+}
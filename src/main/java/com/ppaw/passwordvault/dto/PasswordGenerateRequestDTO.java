@@ -0,0 +1,20 @@
+package com.ppaw.passwordvault.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Password generator options; every selected character class appears at least once.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PasswordGenerateRequestDTO {
+    private Integer length; // Default: min(16, plan maxPasswordLength)
+    private Integer count;  // Default 1, bulk up to PasswordGeneratorService.MAX_COUNT
+    private Boolean lowercase = true;
+    private Boolean uppercase = true;
+    private Boolean digits = true;
+    private Boolean symbols = true;
+}
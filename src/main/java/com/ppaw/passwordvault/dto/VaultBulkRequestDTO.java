@@ -0,0 +1,21 @@
+package com.ppaw.passwordvault.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk vault operations executed in a single transaction.
+ * Items are validated one by one; invalid items are reported and skipped.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VaultBulkRequestDTO {
+    private List<VaultItemCreateDTO> create = new ArrayList<>();
+    private List<VaultBulkUpdateDTO> update = new ArrayList<>();
+    private List<Long> delete = new ArrayList<>();
+}
@@ -0,0 +1,31 @@
+package com.ppaw.passwordvault.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VaultBulkResultDTO {
+    private int succeeded;
+    private int failed;
+    @Builder.Default
+    private List<ItemResult> results = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResult {
+        private String operation; // CREATE, UPDATE, DELETE
+        private int index;        // position in the corresponding request list
+        private Long id;
+        private boolean success;
+        private String error;
+    }
+}
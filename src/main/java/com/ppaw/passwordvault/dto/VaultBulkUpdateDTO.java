@@ -0,0 +1,16 @@
+package com.ppaw.passwordvault.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * One update operation of a bulk request: the item id plus the usual partial update fields.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class VaultBulkUpdateDTO extends VaultItemUpdateDTO {
+    private Long id;
+    private Long version; // Optional expected version (same semantics as If-Match on PUT /api/vault/{id})
+}
@@ -0,0 +1,20 @@
+package com.ppaw.passwordvault.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VaultChangesDTO {
+    private long since;
+    private long latestSeq; // Pass as "since" on the next request
+    private boolean hasMore;
+    private boolean fullResync; // Client fell behind the retention window: refetch GET /api/vault, then resume from latestSeq
+    private List<VaultItemChangeDTO> changes;
+}
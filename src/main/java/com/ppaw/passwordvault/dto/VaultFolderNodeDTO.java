@@ -0,0 +1,23 @@
+package com.ppaw.passwordvault.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VaultFolderNodeDTO {
+    private String name;  // Last path segment
+    private String path;  // Full folder value, segments separated by '/'
+    private long itemCount;      // Items directly in this folder
+    private long totalCount;     // Items in this folder and its subfolders
+    private long favoriteCount;  // Favorites in this folder and its subfolders
+    @Builder.Default
+    private List<VaultFolderNodeDTO> children = new ArrayList<>();
+}
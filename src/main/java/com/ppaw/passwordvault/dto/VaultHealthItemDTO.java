@@ -0,0 +1,20 @@
+package com.ppaw.passwordvault.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One vault item flagged by the health report (weak or old password).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VaultHealthItemDTO {
+    private Long itemId;
+    private String title;
+    private Integer strengthScore; // 0 (very weak) - 4 (strong)
+    private long ageDays;          // Days since the item was last updated
+}
@@ -0,0 +1,31 @@
+package com.ppaw.passwordvault.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Security report over a user's vault: reused, weak, breached and old passwords.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VaultHealthReportDTO {
+    private long vaultVersion;
+    private LocalDateTime generatedAt;
+    private int totalItems;
+    private int analyzedItems;        // Items whose secret the server can read (not client-encrypted)
+    private List<List<Long>> reusedGroups; // Item ids sharing the same password, largest group first
+    private int reusedItems;
+    private List<VaultHealthItemDTO> weakItems;
+    private boolean strengthLimited; // weakItems misses common passwords: no vault.strength.dictionary-path list
+    private List<VaultHealthItemDTO> breachedItems; // null if no breach corpus is configured
+    private List<VaultHealthItemDTO> oldItems;
+    private Map<String, Integer> ageBuckets; // "0-90", "90-180", "180-365", "365+" days
+}
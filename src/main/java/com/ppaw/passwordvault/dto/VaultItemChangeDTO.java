@@ -0,0 +1,20 @@
+package com.ppaw.passwordvault.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VaultItemChangeDTO {
+    private Long seq;
+    private Long itemId;
+    private String operation; // CREATED, UPDATED, DELETED
+    private LocalDateTime changedAt;
+    private VaultItemDTO item; // Current state; null for DELETED (tombstone)
+}
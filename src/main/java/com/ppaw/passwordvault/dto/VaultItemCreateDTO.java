@@ -1,5 +1,6 @@
 package com.ppaw.passwordvault.dto;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
@@ -17,8 +18,10 @@ public class VaultItemCreateDTO {
     @Size(max = 255, message = "Username must not exceed 255 characters")
     private String username;
 
-    @NotBlank(message = "Password is required")
-    private String password; // Va fi criptat în service
+    private String password; // Va fi criptat în service (mod SERVER; obligatoriu)
+
+    @Valid
+    private ClientEncryptedSecretDTO encryptedPassword; // Mod CLIENT (obligatoriu), în locul câmpului password
 
     @Size(max = 500, message = "URL must not exceed 500 characters")
     private String url;
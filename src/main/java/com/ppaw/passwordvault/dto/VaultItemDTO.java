@@ -23,6 +23,22 @@ public class VaultItemDTO {
     private Boolean isFavorite;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version; // Send back in If-Match when updating
     // Nu expunem parolele încărcate în DTO pentru securitate
+    private PasswordCheckDTO passwordCheck; // Only on create/update responses that carried a plaintext password
+
+    // Metadata projections in VaultItemRepository: notes are in the secret group, see GET /{id}/secret
+    public VaultItemDTO(Long id, Long userId, String title, String username, String url,
+                        String folder, String tags, Boolean isFavorite, LocalDateTime createdAt,
+                        LocalDateTime updatedAt, Long version) {
+        this(id, userId, title, username, url, null, folder, tags, isFavorite, createdAt, updatedAt, version, null);
+    }
+
+    // Export projection (VaultItemRepository.streamDTOsByUserId)
+    public VaultItemDTO(Long id, Long userId, String title, String username, String url, String notes,
+                        String folder, String tags, Boolean isFavorite, LocalDateTime createdAt,
+                        LocalDateTime updatedAt, Long version) {
+        this(id, userId, title, username, url, notes, folder, tags, isFavorite, createdAt, updatedAt, version, null);
+    }
 }
 
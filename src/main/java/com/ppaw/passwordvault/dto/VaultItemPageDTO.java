@@ -0,0 +1,19 @@
+package com.ppaw.passwordvault.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VaultItemPageDTO {
+    private List<VaultItemSummaryDTO> items;
+    private String nextCursor; // null when there are no more pages
+    private boolean hasMore;
+    private int size;
+}
@@ -0,0 +1,21 @@
+package com.ppaw.passwordvault.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VaultItemSearchPageDTO {
+    private String query;
+    private String matchMode; // "fulltext" or "substring" (trigram fallback)
+    private List<VaultItemSummaryDTO> items;
+    private int page;
+    private int size;
+    private boolean hasMore;
+}
@@ -0,0 +1,20 @@
+package com.ppaw.passwordvault.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Secret part of a vault item, returned only by the explicit "reveal" endpoint.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VaultItemSecretDTO {
+    private Long id;
+    private String password; // SERVER storage mode
+    private ClientEncryptedSecretDTO encryptedPassword; // CLIENT storage mode (plaintextLength not returned)
+    private String notes;
+}
@@ -0,0 +1,30 @@
+package com.ppaw.passwordvault.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Metadata-only view of a vault item, used by list/page endpoints.
+ * Built directly from JPQL constructor expressions, so it never loads
+ * encrypted_password, password_iv, password_salt or notes.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VaultItemSummaryDTO {
+    private Long id;
+    private Long userId;
+    private String title;
+    private String username;
+    private String url;
+    private String folder;
+    private String tags;
+    private Boolean isFavorite;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -1,5 +1,6 @@
 package com.ppaw.passwordvault.dto;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -17,6 +18,9 @@ public class VaultItemUpdateDTO {
 
     private String password; // Opțional - doar dacă se schimbă
 
+    @Valid
+    private ClientEncryptedSecretDTO encryptedPassword; // Mod CLIENT - opțional, în locul câmpului password
+
     @Size(max = 500, message = "URL must not exceed 500 characters")
     private String url;
 
@@ -0,0 +1,16 @@
+package com.ppaw.passwordvault.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VaultPushEventDTO {
+    private Long itemId; // null for "resync"
+    private String operation; // CREATED, UPDATED, DELETED, SHARED
+    private long vaultVersion;
+}
@@ -0,0 +1,22 @@
+package com.ppaw.passwordvault.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VaultSummaryDTO {
+    private long totalCount;
+    private long favoriteCount;
+    private long unfiledCount; // Items without a folder
+    private LocalDateTime lastModifiedAt;
+    private long vaultVersion;
+    private List<VaultFolderNodeDTO> folders;
+}
@@ -0,0 +1,30 @@
+package com.ppaw.passwordvault.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published by VaultItemService for every vault item mutation.
+ * Listeners that keep derived in-memory state (indexes, caches) should use
+ * {@code @TransactionalEventListener} so they only see committed changes.
+ */
+@Data
+@AllArgsConstructor
+public class VaultItemChangedEvent {
+
+    public enum Operation {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private Long userId;
+    private Long itemId;
+    private Operation operation;
+    private long vaultVersion; // users.vault_version after this change
+
+    // Item metadata after the change (null for DELETED)
+    private String title;
+    private String username;
+    private String url;
+}
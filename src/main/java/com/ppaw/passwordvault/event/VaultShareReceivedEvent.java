@@ -0,0 +1,17 @@
+package com.ppaw.passwordvault.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published by VaultShareController when a vault item is shared with a user.
+ * Kept separate from VaultItemChangedEvent: the item belongs to another user and must not
+ * reach the recipient's own search/autofill indexes.
+ */
+@Data
+@AllArgsConstructor
+public class VaultShareReceivedEvent {
+    private Long recipientUserId;
+    private Long itemId;
+    private long vaultVersion; // Recipient's users.vault_version after the share
+}
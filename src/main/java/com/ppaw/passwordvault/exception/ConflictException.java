@@ -0,0 +1,26 @@
+package com.ppaw.passwordvault.exception;
+
+import java.util.Set;
+
+/**
+ * Concurrent modification that cannot be merged automatically (HTTP 409).
+ */
+public class ConflictException extends RuntimeException {
+
+    private final Long currentVersion;
+    private final Set<String> conflictingFields;
+
+    public ConflictException(String message, Long currentVersion, Set<String> conflictingFields) {
+        super(message);
+        this.currentVersion = currentVersion;
+        this.conflictingFields = conflictingFields;
+    }
+
+    public Long getCurrentVersion() {
+        return currentVersion;
+    }
+
+    public Set<String> getConflictingFields() {
+        return conflictingFields;
+    }
+}
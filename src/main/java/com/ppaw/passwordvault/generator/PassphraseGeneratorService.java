@@ -0,0 +1,241 @@
+package com.ppaw.passwordvault.generator;
+
+import com.ppaw.passwordvault.dto.GeneratedPassphrasesDTO;
+import com.ppaw.passwordvault.dto.PassphraseGenerateRequestDTO;
+import com.ppaw.passwordvault.dto.PlanLimitsDTO;
+import com.ppaw.passwordvault.exception.BusinessException;
+import com.ppaw.passwordvault.exception.ValidationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Diceware-style passphrases from a memory-mapped wordlist (built by WordlistBuilder).
+ *
+ * The file is an offset index followed by the packed ASCII words, so startup only maps it and the
+ * heap holds no word strings; a word is read from the mapping when it is picked. Words are picked
+ * with SecureRandomIndex (unbiased). A passphrase longer than the plan's maxPasswordLength is
+ * rejected and drawn again, and the reported entropy counts only the passphrases that fit. The
+ * separator must not contain letters, so each phrase splits back into its words unambiguously.
+ *
+ * File layout (big-endian): magic "PPAWWRD1", word count (int), reserved (int),
+ * count + 1 word start offsets (int), word bytes.
+ */
+@Service
+public class PassphraseGeneratorService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PassphraseGeneratorService.class);
+
+    static final byte[] MAGIC = "PPAWWRD1".getBytes(StandardCharsets.US_ASCII);
+    static final int MAX_WORD_LENGTH = 32;
+    private static final int HEADER_BYTES = 16;
+
+    public static final int MAX_COUNT = 1000;
+    private static final int DEFAULT_WORDS = 6;
+    private static final int MIN_WORDS = 3;
+    private static final int MAX_WORDS = 20;
+    private static final int MAX_SEPARATOR_LENGTH = 3;
+    // Below this share of fitting passphrases, rejection would loop too long: ask for fewer words
+    private static final double MIN_ACCEPT_RATE = 0.001;
+
+    private enum Capitalization {
+        NONE, FIRST, UPPER, RANDOM
+    }
+
+    private final PasswordGeneratorService passwordGeneratorService;
+    private ByteBuffer offsets;
+    private ByteBuffer words;
+    private int wordCount;
+    private volatile long[] lengthHistogram; // Words per length, computed on first use
+
+    public PassphraseGeneratorService(PasswordGeneratorService passwordGeneratorService,
+                                      @Value("${vault.passphrase.wordlist-path:}") String wordlistPath) {
+        this.passwordGeneratorService = passwordGeneratorService;
+        if (wordlistPath == null || wordlistPath.isBlank()) {
+            logger.info("Passphrase generator disabled (vault.passphrase.wordlist-path not set)");
+            return;
+        }
+        try {
+            open(Path.of(wordlistPath));
+            logger.info("Passphrase wordlist mapped: {} ({} words)", wordlistPath, wordCount);
+        } catch (IOException | IllegalStateException e) {
+            logger.error("Could not open passphrase wordlist {} - generator disabled: {}", wordlistPath, e.getMessage());
+            offsets = null;
+            words = null;
+        }
+    }
+
+    public GeneratedPassphrasesDTO generate(Long userId, PassphraseGenerateRequestDTO request) {
+        if (offsets == null) {
+            throw new BusinessException("Passphrase generation is not available (no wordlist configured)");
+        }
+        PlanLimitsDTO limits = passwordGeneratorService.getPlanLimits(userId);
+        int wordsPerPhrase = request.getWords() != null ? request.getWords() : DEFAULT_WORDS;
+        int count = request.getCount() != null ? request.getCount() : 1;
+        String separator = request.getSeparator() != null ? request.getSeparator() : "-";
+        Capitalization capitalization = parseCapitalization(request.getCapitalization());
+        if (wordsPerPhrase < MIN_WORDS || wordsPerPhrase > MAX_WORDS) {
+            throw new ValidationException("Words must be between " + MIN_WORDS + " and " + MAX_WORDS);
+        }
+        if (count < 1 || count > MAX_COUNT) {
+            throw new ValidationException("Count must be between 1 and " + MAX_COUNT);
+        }
+        // Without a separator that cannot occur in a word, different word picks can yield the same phrase
+        // ("in" + "tense" = "intense"), and the entropy below would overstate the strength
+        if (separator.isEmpty() || separator.length() > MAX_SEPARATOR_LENGTH
+                || separator.chars().anyMatch(c -> Character.isISOControl(c) || Character.isLetter(c))) {
+            throw new ValidationException("Separator must be 1 to " + MAX_SEPARATOR_LENGTH + " printable non-letter characters");
+        }
+
+        // Letters available for the words themselves
+        int budget = limits.getMaxPasswordLength() - separator.length() * (wordsPerPhrase - 1);
+        double fitting = countFitting(wordsPerPhrase, budget);
+        double acceptRate = fitting / Math.pow(wordCount, wordsPerPhrase);
+        if (fitting < 1 || acceptRate < MIN_ACCEPT_RATE) {
+            throw new ValidationException(String.format(
+                    "%d words do not fit the maximum password length of your plan (%d); use fewer words",
+                    wordsPerPhrase, limits.getMaxPasswordLength()));
+        }
+
+        SecureRandomIndex random = SecureRandomIndex.current();
+        int[] picked = new int[wordsPerPhrase];
+        StringBuilder phrase = new StringBuilder(limits.getMaxPasswordLength());
+        List<String> passphrases = new ArrayList<>(count);
+        for (int p = 0; p < count; p++) {
+            int length;
+            do {
+                length = 0;
+                for (int w = 0; w < wordsPerPhrase; w++) {
+                    picked[w] = random.nextIndex(wordCount);
+                    length += wordLength(picked[w]);
+                }
+            } while (length > budget);
+
+            phrase.setLength(0);
+            for (int w = 0; w < wordsPerPhrase; w++) {
+                if (w > 0) {
+                    phrase.append(separator);
+                }
+                appendWord(phrase, picked[w], capitalization, random);
+            }
+            passphrases.add(phrase.toString());
+        }
+        Arrays.fill(picked, 0);
+        phrase.setLength(0);
+
+        double entropyBits = Math.log(fitting) / Math.log(2)
+                + (capitalization == Capitalization.RANDOM ? wordsPerPhrase : 0);
+        logger.debug("Generated {} passphrases of {} words for user id: {}", count, wordsPerPhrase, userId);
+        return GeneratedPassphrasesDTO.builder()
+                .passphrases(passphrases)
+                .words(wordsPerPhrase)
+                .wordlistSize(wordCount)
+                .entropyBits(entropyBits)
+                .build();
+    }
+
+    private void open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            byte[] magic = new byte[MAGIC.length];
+            header.get(0, magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IllegalStateException("not a passphrase wordlist file");
+            }
+            wordCount = header.getInt(8);
+            long offsetBytes = (wordCount + 1L) * Integer.BYTES;
+            if (wordCount < 2 || HEADER_BYTES + offsetBytes > channel.size()) {
+                throw new IllegalStateException("wordlist file is empty or corrupt");
+            }
+            offsets = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, offsetBytes);
+            long wordBytes = channel.size() - HEADER_BYTES - offsetBytes;
+            if (offsets.getInt(wordCount * Integer.BYTES) != wordBytes) {
+                throw new IllegalStateException("wordlist file is truncated or corrupt");
+            }
+            words = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + offsetBytes, wordBytes);
+        }
+    }
+
+    private int wordLength(int index) {
+        return offsets.getInt((index + 1) * Integer.BYTES) - offsets.getInt(index * Integer.BYTES);
+    }
+
+    private void appendWord(StringBuilder phrase, int index, Capitalization capitalization, SecureRandomIndex random) {
+        int start = offsets.getInt(index * Integer.BYTES);
+        int end = offsets.getInt((index + 1) * Integer.BYTES);
+        boolean capitalizeFirst = capitalization == Capitalization.FIRST
+                || (capitalization == Capitalization.RANDOM && random.nextIndex(2) == 1);
+        for (int i = start; i < end; i++) {
+            char c = (char) words.get(i); // ASCII only (WordlistBuilder)
+            if (capitalization == Capitalization.UPPER || (capitalizeFirst && i == start)) {
+                c = Character.toUpperCase(c);
+            }
+            phrase.append(c);
+        }
+    }
+
+    /**
+     * Number of word sequences whose letters fit in the budget (DP over the word length histogram).
+     */
+    private double countFitting(int wordsPerPhrase, int budget) {
+        if (budget <= 0) {
+            return 0;
+        }
+        long[] histogram = getLengthHistogram();
+        double[] ways = new double[budget + 1];
+        ways[0] = 1;
+        for (int w = 0; w < wordsPerPhrase; w++) {
+            double[] next = new double[budget + 1];
+            for (int total = 0; total <= budget; total++) {
+                if (ways[total] == 0) {
+                    continue;
+                }
+                for (int length = 1; length < histogram.length && total + length <= budget; length++) {
+                    next[total + length] += ways[total] * histogram[length];
+                }
+            }
+            ways = next;
+        }
+        double fitting = 0;
+        for (double value : ways) {
+            fitting += value;
+        }
+        return fitting;
+    }
+
+    private long[] getLengthHistogram() {
+        long[] histogram = lengthHistogram;
+        if (histogram == null) {
+            histogram = new long[MAX_WORD_LENGTH + 1];
+            for (int i = 0; i < wordCount; i++) {
+                histogram[Math.min(wordLength(i), MAX_WORD_LENGTH)]++;
+            }
+            lengthHistogram = histogram;
+        }
+        return histogram;
+    }
+
+    private static Capitalization parseCapitalization(String value) {
+        if (value == null || value.isBlank()) {
+            return Capitalization.NONE;
+        }
+        try {
+            return Capitalization.valueOf(value.strip().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid capitalization: " + value + " (expected none, first, upper or random)");
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.ppaw.passwordvault.generator;
+
+import com.ppaw.passwordvault.dto.GeneratedPasswordsDTO;
+import com.ppaw.passwordvault.dto.PasswordGenerateRequestDTO;
+import com.ppaw.passwordvault.dto.PlanLimitsDTO;
+import com.ppaw.passwordvault.exception.ValidationException;
+import com.ppaw.passwordvault.service.ServicePlanService;
+import com.ppaw.passwordvault.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Random password generator bound to the user's plan (maxPasswordLength, excludeAmbiguous).
+ * Characters are drawn with SecureRandomIndex (per-thread SecureRandom, no modulo bias); a password
+ * missing one of the selected classes is rejected and drawn again, which keeps the result uniform
+ * over all valid passwords.
+ */
+@Service
+@RequiredArgsConstructor
+public class PasswordGeneratorService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordGeneratorService.class);
+
+    public static final int MAX_COUNT = 10_000;
+    private static final int DEFAULT_LENGTH = 16;
+    private static final int MIN_LENGTH = 4;
+
+    private static final String LOWERCASE = "abcdefghijklmnopqrstuvwxyz";
+    private static final String UPPERCASE = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final String DIGITS = "0123456789";
+    private static final String SYMBOLS = "!\"#$%&'()*+,-./:;<=>?@[\\]^_`{|}~";
+    // Characters that are easy to confuse when read or typed
+    private static final String AMBIGUOUS = "Il1|O0o`'\";:,.";
+
+    private final UserService userService;
+    private final ServicePlanService servicePlanService;
+
+    public GeneratedPasswordsDTO generate(Long userId, PasswordGenerateRequestDTO request) {
+        PlanLimitsDTO limits = getPlanLimits(userId);
+        int maxLength = limits.getMaxPasswordLength();
+        int length = request.getLength() != null ? request.getLength() : Math.min(DEFAULT_LENGTH, maxLength);
+        int count = request.getCount() != null ? request.getCount() : 1;
+        if (length < MIN_LENGTH || length > maxLength) {
+            throw new ValidationException(String.format("Password length must be between %d and %d for your plan",
+                    MIN_LENGTH, maxLength));
+        }
+        if (count < 1 || count > MAX_COUNT) {
+            throw new ValidationException("Count must be between 1 and " + MAX_COUNT);
+        }
+
+        boolean excludeAmbiguous = Boolean.TRUE.equals(limits.getExcludeAmbiguous());
+        List<char[]> classes = new ArrayList<>(4);
+        addClass(classes, request.getLowercase(), LOWERCASE, excludeAmbiguous);
+        addClass(classes, request.getUppercase(), UPPERCASE, excludeAmbiguous);
+        addClass(classes, request.getDigits(), DIGITS, excludeAmbiguous);
+        addClass(classes, request.getSymbols(), SYMBOLS, excludeAmbiguous);
+        if (classes.isEmpty()) {
+            throw new ValidationException("At least one character class must be selected");
+        }
+        if (classes.size() > length) {
+            throw new ValidationException("Length is too short for the selected character classes");
+        }
+
+        // Alphabet + class of each alphabet character, so the class check needs no lookups
+        int alphabetSize = classes.stream().mapToInt(c -> c.length).sum();
+        char[] alphabet = new char[alphabetSize];
+        byte[] classOf = new byte[alphabetSize];
+        int offset = 0;
+        for (int c = 0; c < classes.size(); c++) {
+            char[] chars = classes.get(c);
+            System.arraycopy(chars, 0, alphabet, offset, chars.length);
+            for (int i = 0; i < chars.length; i++) {
+                classOf[offset + i] = (byte) c;
+            }
+            offset += chars.length;
+        }
+
+        SecureRandomIndex random = SecureRandomIndex.current();
+        int allClasses = (1 << classes.size()) - 1;
+        char[] buffer = new char[length];
+        List<String> passwords = new ArrayList<>(count);
+        for (int p = 0; p < count; p++) {
+            int seen;
+            do {
+                seen = 0;
+                for (int i = 0; i < length; i++) {
+                    int index = random.nextIndex(alphabetSize);
+                    buffer[i] = alphabet[index];
+                    seen |= 1 << classOf[index];
+                }
+            } while (seen != allClasses);
+            passwords.add(new String(buffer));
+        }
+        Arrays.fill(buffer, '\0');
+
+        logger.debug("Generated {} passwords of length {} for user id: {}", count, length, userId);
+        return GeneratedPasswordsDTO.builder()
+                .passwords(passwords)
+                .length(length)
+                .alphabetSize(alphabetSize)
+                .entropyBits(length * (Math.log(alphabetSize) / Math.log(2)))
+                .build();
+    }
+
+    PlanLimitsDTO getPlanLimits(Long userId) {
+        var user = userService.getUserById(userId);
+        if (user.getServicePlanId() == null) {
+            throw new ValidationException("User has no service plan assigned");
+        }
+        PlanLimitsDTO limits = servicePlanService.getServicePlanWithLimits(user.getServicePlanId()).getLimits();
+        if (limits == null) {
+            throw new ValidationException("Plan limits not found for your plan");
+        }
+        return limits;
+    }
+
+    private static void addClass(List<char[]> classes, Boolean selected, String chars, boolean excludeAmbiguous) {
+        if (!Boolean.TRUE.equals(selected)) {
+            return;
+        }
+        StringBuilder kept = new StringBuilder(chars.length());
+        for (int i = 0; i < chars.length(); i++) {
+            char c = chars.charAt(i);
+            if (!excludeAmbiguous || AMBIGUOUS.indexOf(c) < 0) {
+                kept.append(c);
+            }
+        }
+        classes.add(kept.toString().toCharArray());
+    }
+}
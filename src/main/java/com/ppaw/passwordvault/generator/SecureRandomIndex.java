@@ -0,0 +1,62 @@
+package com.ppaw.passwordvault.generator;
+
+import java.security.SecureRandom;
+
+/**
+ * Unbiased random indexes from a per-thread SecureRandom.
+ *
+ * Random bytes are drawn in blocks (one SecureRandom call per block) and mapped to [0, bound) by
+ * rejection sampling: values from the incomplete last "lap" are discarded instead of reduced with
+ * a plain modulo, which would favour the low indexes.
+ */
+final class SecureRandomIndex {
+
+    private static final int BLOCK_BYTES = 512;
+
+    private static final ThreadLocal<SecureRandomIndex> CURRENT = ThreadLocal.withInitial(SecureRandomIndex::new);
+
+    private final SecureRandom random = new SecureRandom();
+    private final byte[] block = new byte[BLOCK_BYTES];
+    private int position = BLOCK_BYTES;
+
+    private SecureRandomIndex() {
+    }
+
+    static SecureRandomIndex current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @param bound exclusive upper bound, 1 to Integer.MAX_VALUE
+     */
+    int nextIndex(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+        if (bound <= 256) {
+            int limit = 256 - (256 % bound); // Largest multiple of bound <= 256
+            while (true) {
+                int value = nextByte();
+                if (value < limit) {
+                    return value % bound;
+                }
+            }
+        }
+        long range = 1L << 31;
+        long limit = range - (range % bound);
+        while (true) {
+            int value = (nextByte() << 23 | nextByte() << 15 | nextByte() << 7 | nextByte() >>> 1) & Integer.MAX_VALUE;
+            if (value < limit) {
+                return value % bound;
+            }
+        }
+    }
+
+    private int nextByte() {
+        if (position == BLOCK_BYTES) {
+            random.nextBytes(block);
+            position = 0;
+        }
+        return block[position++] & 0xFF;
+    }
+}
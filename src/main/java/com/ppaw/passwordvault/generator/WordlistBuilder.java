@@ -0,0 +1,73 @@
+package com.ppaw.passwordvault.generator;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Offline tool that turns a text wordlist into the binary file memory-mapped by
+ * PassphraseGeneratorService.
+ *
+ * Input: one word per line, optionally preceded by dice digits and whitespace (diceware format).
+ * Words are lowercased; duplicates, empty lines and non-ASCII words are skipped.
+ *
+ * Usage: java -cp app.jar com.ppaw.passwordvault.generator.WordlistBuilder words.txt wordlist.bin
+ */
+public final class WordlistBuilder {
+
+    private WordlistBuilder() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: WordlistBuilder <words.txt> <wordlist.bin>");
+            System.exit(1);
+        }
+        int count = build(Path.of(args[0]), Path.of(args[1]));
+        System.out.println("Wrote " + count + " words to " + args[1]);
+    }
+
+    public static int build(Path input, Path output) throws IOException {
+        Set<String> words = new LinkedHashSet<>();
+        int skipped = 0;
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.strip().split("\\s+");
+                String word = parts[parts.length - 1].toLowerCase(Locale.ROOT);
+                if (word.isEmpty() || word.length() > PassphraseGeneratorService.MAX_WORD_LENGTH
+                        || !StandardCharsets.US_ASCII.newEncoder().canEncode(word)) {
+                    skipped += word.isEmpty() ? 0 : 1;
+                    continue;
+                }
+                words.add(word);
+            }
+        }
+        if (skipped > 0) {
+            System.err.println("Skipped " + skipped + " non-ASCII or too long words");
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(output), 1 << 16))) {
+            out.write(PassphraseGeneratorService.MAGIC);
+            out.writeInt(words.size());
+            out.writeInt(0);
+            int offset = 0;
+            out.writeInt(offset);
+            for (String word : words) {
+                offset += word.length();
+                out.writeInt(offset);
+            }
+            for (String word : words) {
+                out.write(word.getBytes(StandardCharsets.US_ASCII));
+            }
+        }
+        return words.size();
+    }
+}
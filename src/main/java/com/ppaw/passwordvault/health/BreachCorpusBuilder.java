@@ -0,0 +1,199 @@
+package com.ppaw.passwordvault.health;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Offline tool that builds the corpus file read by BreachedPasswordChecker.
+ *
+ * Input: a text file with one entry per line, either a plaintext password or a hex SHA-1 hash
+ * (the "HASH:count" format of public breach dumps is accepted). Hashes are sorted in bounded runs
+ * and merged from disk, so the corpus may be much larger than the heap.
+ *
+ * Usage: java -cp app.jar com.ppaw.passwordvault.health.BreachCorpusBuilder input.txt output.bin [bitsPerEntry]
+ */
+public final class BreachCorpusBuilder {
+
+    private static final int HASH_BYTES = BreachedPasswordChecker.HASH_BYTES;
+    private static final int RUN_SIZE = 1_000_000;
+    private static final long MAX_BLOOM_BYTES = Integer.MAX_VALUE - 8L;
+
+    private BreachCorpusBuilder() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BreachCorpusBuilder <input.txt> <output.bin> [bitsPerEntry=10]");
+            System.exit(1);
+        }
+        int bitsPerEntry = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        long count = build(Path.of(args[0]), Path.of(args[1]), bitsPerEntry);
+        System.out.println("Wrote " + count + " unique hashes to " + args[1]);
+    }
+
+    public static long build(Path input, Path output, int bitsPerEntry) throws IOException {
+        List<Path> runs = writeSortedRuns(input);
+        Path records = Files.createTempFile("breach-records", ".bin");
+        try {
+            long count = mergeRuns(runs, records);
+            writeCorpus(records, count, bitsPerEntry, output);
+            return count;
+        } finally {
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+            Files.deleteIfExists(records);
+        }
+    }
+
+    private static List<Path> writeSortedRuns(Path input) throws IOException {
+        MessageDigest sha1 = sha1();
+        List<Path> runs = new ArrayList<>();
+        List<byte[]> run = new ArrayList<>(RUN_SIZE);
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                run.add(toHash(line, sha1));
+                if (run.size() == RUN_SIZE) {
+                    runs.add(writeRun(run));
+                    run.clear();
+                }
+            }
+        }
+        if (!run.isEmpty()) {
+            runs.add(writeRun(run));
+        }
+        return runs;
+    }
+
+    private static byte[] toHash(String line, MessageDigest sha1) {
+        int colon = line.indexOf(':');
+        String candidate = colon == 2 * HASH_BYTES ? line.substring(0, colon) : line;
+        if (candidate.length() == 2 * HASH_BYTES && candidate.chars().allMatch(c -> Character.digit(c, 16) >= 0)) {
+            return HexFormat.of().parseHex(candidate);
+        }
+        return sha1.digest(line.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Path writeRun(List<byte[]> run) throws IOException {
+        run.sort(Arrays::compareUnsigned);
+        Path file = Files.createTempFile("breach-run", ".bin");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16)) {
+            for (byte[] hash : run) {
+                out.write(hash);
+            }
+        }
+        return file;
+    }
+
+    /**
+     * k-way merge of the sorted runs, dropping duplicates.
+     */
+    private static long mergeRuns(List<Path> runs, Path target) throws IOException {
+        PriorityQueue<RunReader> queue = new PriorityQueue<>((a, b) -> Arrays.compareUnsigned(a.current, b.current));
+        List<RunReader> readers = new ArrayList<>();
+        long count = 0;
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(target), 1 << 16)) {
+            for (Path run : runs) {
+                RunReader reader = new RunReader(run);
+                readers.add(reader);
+                if (reader.advance()) {
+                    queue.add(reader);
+                }
+            }
+            byte[] previous = null;
+            while (!queue.isEmpty()) {
+                RunReader reader = queue.poll();
+                if (previous == null || !Arrays.equals(previous, reader.current)) {
+                    out.write(reader.current);
+                    previous = reader.current; // advance() never reuses the array
+                    count++;
+                }
+                if (reader.advance()) {
+                    queue.add(reader);
+                }
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                reader.in.close();
+            }
+        }
+        return count;
+    }
+
+    private static void writeCorpus(Path records, long count, int bitsPerEntry, Path output) throws IOException {
+        long bloomBits = Math.min(Math.max(64, count * bitsPerEntry), MAX_BLOOM_BYTES * 8);
+        int bloomHashes = Math.max(1, (int) Math.round(bitsPerEntry * Math.log(2)));
+        byte[] bloom = new byte[(int) BreachedPasswordChecker.bloomBytes(bloomBits)];
+
+        byte[] hash = new byte[HASH_BYTES];
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(records), 1 << 16))) {
+            for (long i = 0; i < count; i++) {
+                in.readFully(hash);
+                long h1 = BreachedPasswordChecker.getLong(hash, 0);
+                long step = BreachedPasswordChecker.getLong(hash, 8) | 1;
+                for (int k = 0; k < bloomHashes; k++) {
+                    long bit = Long.remainderUnsigned(h1 + k * step, bloomBits);
+                    bloom[(int) (bit >>> 3)] |= (byte) (1 << (bit & 7));
+                }
+            }
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(output), 1 << 16))) {
+            out.write(BreachedPasswordChecker.MAGIC);
+            out.writeLong(count);
+            out.writeLong(bloomBits);
+            out.writeInt(bloomHashes);
+            out.writeInt(0);
+            out.write(bloom);
+            Files.copy(records, out);
+        }
+    }
+
+    private static MessageDigest sha1() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not available", e);
+        }
+    }
+
+    private static final class RunReader {
+        private final DataInputStream in;
+        private byte[] current;
+
+        private RunReader(Path run) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), 1 << 16));
+        }
+
+        private boolean advance() throws IOException {
+            byte[] next = new byte[HASH_BYTES];
+            try {
+                in.readFully(next);
+                current = next;
+                return true;
+            } catch (EOFException e) {
+                return false;
+            }
+        }
+    }
+}
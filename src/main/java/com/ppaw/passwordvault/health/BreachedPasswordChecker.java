@@ -0,0 +1,199 @@
+package com.ppaw.passwordvault.health;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Offline breached-password check against a local corpus of SHA-1 hashes (no network calls).
+ *
+ * The corpus file (built by BreachCorpusBuilder) is memory-mapped: a Bloom filter answers most
+ * "not breached" lookups with a few page reads, the rest binary-search the sorted hash records.
+ * Only the mappings live outside the heap, so heap use does not grow with the corpus size, and a
+ * lookup allocates nothing beyond the password bytes.
+ *
+ * File layout (big-endian): magic "PPAWBRC1", record count (long), Bloom bits (long),
+ * Bloom hash count (int), reserved (int), Bloom bit array, then the sorted 20-byte SHA-1 records.
+ */
+@Service
+public class BreachedPasswordChecker {
+
+    private static final Logger logger = LoggerFactory.getLogger(BreachedPasswordChecker.class);
+
+    static final byte[] MAGIC = "PPAWBRC1".getBytes(StandardCharsets.US_ASCII);
+    static final int HEADER_BYTES = 32;
+    static final int HASH_BYTES = 20;
+
+    // Records never straddle two mappings (a single mapping is limited to 2 GB)
+    private static final int RECORDS_PER_SEGMENT = Integer.MAX_VALUE / HASH_BYTES;
+
+    private static final ThreadLocal<MessageDigest> SHA1 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not available", e);
+        }
+    });
+    private static final ThreadLocal<byte[]> HASH_SCRATCH = ThreadLocal.withInitial(() -> new byte[HASH_BYTES]);
+
+    private ByteBuffer bloom;
+    private long bloomBits;
+    private int bloomHashes;
+    private ByteBuffer[] segments;
+    private long recordCount;
+
+    public BreachedPasswordChecker(@Value("${vault.breach.corpus-path:}") String corpusPath) {
+        if (corpusPath == null || corpusPath.isBlank()) {
+            logger.info("Breached-password check disabled (vault.breach.corpus-path not set)");
+            return;
+        }
+        try {
+            open(Path.of(corpusPath));
+            logger.info("Breached-password corpus mapped: {} ({} hashes, Bloom filter: {} bits / {} hashes)",
+                    corpusPath, recordCount, bloomBits, bloomHashes);
+        } catch (IOException | IllegalStateException e) {
+            logger.error("Could not open breached-password corpus {} - check disabled: {}", corpusPath, e.getMessage());
+            segments = null;
+            bloom = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return segments != null;
+    }
+
+    /**
+     * @return true if the password's SHA-1 is in the corpus; always false when no corpus is configured
+     */
+    public boolean isBreached(String password) {
+        if (segments == null || password == null) {
+            return false;
+        }
+        byte[] hash = HASH_SCRATCH.get();
+        MessageDigest sha1 = SHA1.get();
+        sha1.update(password.getBytes(StandardCharsets.UTF_8));
+        try {
+            sha1.digest(hash, 0, HASH_BYTES);
+        } catch (DigestException e) {
+            throw new IllegalStateException("SHA-1 digest failed", e);
+        }
+        long hi = getLong(hash, 0);
+        long mid = getLong(hash, 8);
+        int lo = getInt(hash, 16);
+        return mightContain(hi, mid) && contains(hi, mid, lo);
+    }
+
+    @PreDestroy
+    public void close() {
+        // Mappings are released by the GC; dropping the references is all that can be done portably
+        segments = null;
+        bloom = null;
+    }
+
+    private void open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            byte[] magic = new byte[MAGIC.length];
+            header.get(0, magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IllegalStateException("not a breached-password corpus file");
+            }
+            recordCount = header.getLong(8);
+            bloomBits = header.getLong(16);
+            bloomHashes = header.getInt(24);
+            long bloomBytes = bloomBytes(bloomBits);
+            long recordsStart = HEADER_BYTES + bloomBytes;
+            if (channel.size() != recordsStart + recordCount * HASH_BYTES) {
+                throw new IllegalStateException("corpus file is truncated or corrupt");
+            }
+            bloom = bloomBits > 0 ? channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, bloomBytes) : null;
+
+            int segmentCount = (int) ((recordCount + RECORDS_PER_SEGMENT - 1) / RECORDS_PER_SEGMENT);
+            segments = new ByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long first = (long) i * RECORDS_PER_SEGMENT;
+                long records = Math.min(RECORDS_PER_SEGMENT, recordCount - first);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, recordsStart + first * HASH_BYTES,
+                        records * HASH_BYTES);
+            }
+            // The mappings stay valid after the channel is closed
+        }
+    }
+
+    /**
+     * Double hashing over the (already uniform) SHA-1 words; absolute gets keep this thread-safe.
+     */
+    private boolean mightContain(long h1, long h2) {
+        if (bloom == null) {
+            return true;
+        }
+        long step = h2 | 1;
+        for (int i = 0; i < bloomHashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * step, bloomBits);
+            if ((bloom.get((int) (bit >>> 3)) & (1 << (bit & 7))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean contains(long hi, long mid, int lo) {
+        long low = 0;
+        long high = recordCount - 1;
+        while (low <= high) {
+            long middle = (low + high) >>> 1;
+            ByteBuffer segment = segments[(int) (middle / RECORDS_PER_SEGMENT)];
+            int offset = (int) (middle % RECORDS_PER_SEGMENT) * HASH_BYTES;
+            int cmp = Long.compareUnsigned(segment.getLong(offset), hi);
+            if (cmp == 0) {
+                cmp = Long.compareUnsigned(segment.getLong(offset + 8), mid);
+            }
+            if (cmp == 0) {
+                cmp = Integer.compareUnsigned(segment.getInt(offset + 16), lo);
+            }
+            if (cmp == 0) {
+                return true;
+            }
+            if (cmp < 0) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return false;
+    }
+
+    static long bloomBytes(long bloomBits) {
+        return (bloomBits + 7) >>> 3;
+    }
+
+    static long getLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static int getInt(byte[] bytes, int offset) {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFF);
+        }
+        return value;
+    }
+}
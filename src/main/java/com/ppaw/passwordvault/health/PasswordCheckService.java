@@ -0,0 +1,58 @@
+package com.ppaw.passwordvault.health;
+
+import com.ppaw.passwordvault.dto.PasswordCheckDTO;
+import com.ppaw.passwordvault.exception.ValidationException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Strength estimate + breach check of plaintext passwords (vault item create/update and the batch API).
+ */
+@Service
+@RequiredArgsConstructor
+public class PasswordCheckService {
+
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    private final PasswordStrengthEstimator passwordStrengthEstimator;
+    private final BreachedPasswordChecker breachedPasswordChecker;
+
+    /**
+     * @return null when no password was given (client-encrypted item or password unchanged)
+     */
+    public PasswordCheckDTO check(String password) {
+        if (password == null) {
+            return null;
+        }
+        double guessesLog10 = passwordStrengthEstimator.log10Guesses(password);
+        return PasswordCheckDTO.builder()
+                .breached(breachedPasswordChecker.isEnabled() ? breachedPasswordChecker.isBreached(password) : null)
+                .strengthScore(PasswordStrengthEstimator.scoreOf(guessesLog10))
+                .guessesLog10(guessesLog10)
+                .strengthLimited(passwordStrengthEstimator.isDictionaryLimited())
+                .build();
+    }
+
+    /**
+     * Results in request order; the passwords themselves are not echoed back.
+     */
+    public List<PasswordCheckDTO> checkAll(List<String> passwords) {
+        if (passwords == null || passwords.isEmpty()) {
+            throw new ValidationException("At least one password is required");
+        }
+        if (passwords.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException("At most " + MAX_BATCH_SIZE + " passwords can be checked per request");
+        }
+        List<PasswordCheckDTO> results = new ArrayList<>(passwords.size());
+        for (String password : passwords) {
+            if (password == null) {
+                throw new ValidationException("Passwords must not be null");
+            }
+            results.add(check(password));
+        }
+        return results;
+    }
+}
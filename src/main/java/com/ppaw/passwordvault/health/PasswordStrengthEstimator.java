@@ -0,0 +1,329 @@
+package com.ppaw.passwordvault.health;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * zxcvbn-style password strength estimate: the cheapest way to cover the password with dictionary
+ * words (ranked, with case and l33t variants), keyboard runs, sequences, repeats and years, or
+ * brute force, found by dynamic programming over the positions.
+ *
+ * Dictionaries are loaded once into two parallel primitive arrays (sorted 64-bit word hashes and
+ * ranks); substrings are hashed incrementally and binary-searched, so an estimate allocates nothing
+ * (scratch arrays are per thread).
+ *
+ * The bundled lists only hold a few hundred of the most common passwords and names. Without a large
+ * ranked list in vault.strength.dictionary-path, most real-world common passwords are only caught by the
+ * pattern matchers and are scored too high; isDictionaryLimited() reports that state to API clients.
+ */
+@Service
+public class PasswordStrengthEstimator {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordStrengthEstimator.class);
+
+    private static final String[] BUILTIN_DICTIONARIES = {"strength/passwords.txt", "strength/names.txt"};
+
+    private static final int MAX_ANALYZED = 128; // Characters beyond this are counted as brute force
+    private static final int MIN_WORD = 3;
+    private static final int MIN_PATTERN = 3;
+
+    private static final double LOG2 = Math.log10(2);
+    private static final double KEYBOARD_START = Math.log10(94);
+    private static final double KEYBOARD_STEP = Math.log10(4); // Average key degree on the layout
+    private static final double YEAR_GUESSES = Math.log10(140); // 1900-2039
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    // Lowercase + common l33t substitutions (ASCII only)
+    private static final char[] LEET = new char[128];
+    private static final boolean[] ADJACENT = new boolean[128 * 128];
+
+    static {
+        for (char c = 0; c < 128; c++) {
+            LEET[c] = Character.toLowerCase(c);
+        }
+        LEET['4'] = 'a';
+        LEET['@'] = 'a';
+        LEET['3'] = 'e';
+        LEET['1'] = 'i';
+        LEET['!'] = 'i';
+        LEET['0'] = 'o';
+        LEET['5'] = 's';
+        LEET['$'] = 's';
+        LEET['7'] = 't';
+
+        // QWERTY rows, unshifted and shifted; each row is offset half a key from the one above
+        String[][] rows = {
+                {"`1234567890-=", "~!@#$%^&*()_+"},
+                {"qwertyuiop[]\\", "QWERTYUIOP{}|"},
+                {"asdfghjkl;'", "ASDFGHJKL:\""},
+                {"zxcvbnm,./", "ZXCVBNM<>?"}
+        };
+        for (int r = 0; r < rows.length; r++) {
+            for (int i = 0; i < rows[r][0].length(); i++) {
+                linkKeys(rows, r, i, r, i - 1);
+                linkKeys(rows, r, i, r, i + 1);
+                linkKeys(rows, r, i, r - 1, i);
+                linkKeys(rows, r, i, r - 1, i + 1);
+                linkKeys(rows, r, i, r + 1, i);
+                linkKeys(rows, r, i, r + 1, i - 1);
+            }
+        }
+    }
+
+    private static void linkKeys(String[][] rows, int row, int col, int otherRow, int otherCol) {
+        if (otherRow < 0 || otherRow >= rows.length || otherCol < 0 || otherCol >= rows[otherRow][0].length()) {
+            return;
+        }
+        for (String from : rows[row]) {
+            for (String to : rows[otherRow]) {
+                ADJACENT[from.charAt(col) * 128 + to.charAt(otherCol)] = true;
+            }
+        }
+    }
+
+    private static final ThreadLocal<double[]> BEST = ThreadLocal.withInitial(() -> new double[MAX_ANALYZED + 1]);
+
+    private final long[] wordHashes;
+    private final int[] wordRanks;
+    private final int maxWordLength;
+    private final boolean dictionaryLimited;
+
+    public PasswordStrengthEstimator(@Value("${vault.strength.dictionary-path:}") String extraDictionary) throws IOException {
+        Map<Long, Integer> ranks = new HashMap<>();
+        int[] longest = {0};
+        for (String resource : BUILTIN_DICTIONARIES) {
+            try (InputStream in = new ClassPathResource(resource).getInputStream()) {
+                load(in, ranks, longest);
+            }
+        }
+        dictionaryLimited = extraDictionary == null || extraDictionary.isBlank();
+        if (!dictionaryLimited) {
+            try (InputStream in = Files.newInputStream(Path.of(extraDictionary))) {
+                load(in, ranks, longest);
+            }
+        } else {
+            logger.warn("vault.strength.dictionary-path is not set: strength scores only use the small built-in " +
+                    "word lists and overrate many common passwords");
+        }
+        // Sorted hashes + parallel ranks; the map and the word strings are garbage after this
+        wordHashes = new long[ranks.size()];
+        wordRanks = new int[ranks.size()];
+        long[] sorted = ranks.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        for (int i = 0; i < sorted.length; i++) {
+            wordHashes[i] = sorted[i];
+            wordRanks[i] = ranks.get(sorted[i]);
+        }
+        maxWordLength = longest[0];
+        logger.info("PasswordStrengthEstimator initialized ({} dictionary words, longest: {})", wordHashes.length, maxWordLength);
+    }
+
+    /**
+     * True when only the built-in word lists are loaded, i.e. scores are optimistic for common passwords.
+     */
+    public boolean isDictionaryLimited() {
+        return dictionaryLimited;
+    }
+
+    /**
+     * Ranked word list, most common first; a word keeps its best rank across lists.
+     */
+    private static void load(InputStream in, Map<Long, Integer> ranks, int[] longest) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        int rank = 0;
+        while ((line = reader.readLine()) != null) {
+            String word = line.strip();
+            if (word.length() < MIN_WORD) {
+                continue;
+            }
+            rank++;
+            long hash = FNV_OFFSET;
+            for (int i = 0; i < word.length(); i++) {
+                hash = (hash ^ Character.toLowerCase(word.charAt(i))) * FNV_PRIME;
+            }
+            ranks.merge(hash, rank, Math::min);
+            longest[0] = Math.max(longest[0], word.length());
+        }
+    }
+
+    /**
+     * @return 0 (too guessable) to 4 (very unguessable), on zxcvbn's guess-count thresholds
+     */
+    public int score(CharSequence password) {
+        return scoreOf(log10Guesses(password));
+    }
+
+    public static int scoreOf(double log10Guesses) {
+        if (log10Guesses < 3) {
+            return 0;
+        }
+        if (log10Guesses < 6) {
+            return 1;
+        }
+        if (log10Guesses < 8) {
+            return 2;
+        }
+        return log10Guesses < 10 ? 3 : 4;
+    }
+
+    /**
+     * log10 of the estimated number of guesses an attacker needs.
+     */
+    public double log10Guesses(CharSequence password) {
+        int length = password.length();
+        int n = Math.min(length, MAX_ANALYZED);
+        double[] best = BEST.get();
+        best[0] = 0;
+        Arrays.fill(best, 1, n + 1, Double.MAX_VALUE);
+
+        for (int i = 0; i < n; i++) {
+            double base = best[i];
+            relax(best, i + 1, base + bruteForce(password.charAt(i)));
+            matchWords(password, i, n, base, best);
+            matchRuns(password, i, n, base, best);
+            matchYear(password, i, n, base, best);
+        }
+
+        double guesses = best[n];
+        for (int i = n; i < length; i++) {
+            guesses += bruteForce(password.charAt(i));
+        }
+        return guesses;
+    }
+
+    private static void relax(double[] best, int end, double value) {
+        if (value < best[end]) {
+            best[end] = value;
+        }
+    }
+
+    private void matchWords(CharSequence password, int start, int n, double base, double[] best) {
+        long plain = FNV_OFFSET;
+        long leet = FNV_OFFSET;
+        boolean substituted = false;
+        int upper = 0;
+        boolean firstUpper = false;
+        int end = Math.min(n, start + maxWordLength);
+        for (int j = start; j < end; j++) {
+            char c = password.charAt(j);
+            char lower = Character.toLowerCase(c);
+            char normalized = c < 128 ? LEET[c] : lower;
+            if (lower != c) {
+                upper++;
+                firstUpper |= j == start;
+            }
+            substituted |= normalized != lower;
+            plain = (plain ^ lower) * FNV_PRIME;
+            leet = (leet ^ normalized) * FNV_PRIME;
+
+            int wordLength = j - start + 1;
+            if (wordLength < MIN_WORD) {
+                continue;
+            }
+            double variations = caseVariations(upper, wordLength, firstUpper);
+            int rank = rankOf(plain);
+            if (rank > 0) {
+                relax(best, j + 1, base + Math.log10(rank) + variations);
+            }
+            if (substituted) {
+                rank = rankOf(leet);
+                if (rank > 0) {
+                    relax(best, j + 1, base + Math.log10(rank) + variations + LOG2);
+                }
+            }
+        }
+    }
+
+    private static double caseVariations(int upper, int length, boolean firstUpper) {
+        if (upper == 0) {
+            return 0;
+        }
+        if (upper == length || (upper == 1 && firstUpper)) {
+            return LOG2; // "PASSWORD" or "Password"
+        }
+        return Math.min(upper, length - upper) * LOG2;
+    }
+
+    private int rankOf(long hash) {
+        int index = Arrays.binarySearch(wordHashes, hash);
+        return index >= 0 ? wordRanks[index] : 0;
+    }
+
+    /**
+     * Keyboard runs ("qwerty", "zxcvb"), sequences ("abcd", "9876") and repeats ("aaaa") starting at start.
+     */
+    private static void matchRuns(CharSequence password, int start, int n, double base, double[] best) {
+        char first = password.charAt(start);
+        boolean keyboard = true;
+        boolean repeat = true;
+        int delta = start + 1 < n ? password.charAt(start + 1) - first : 0;
+        boolean sequence = delta == 1 || delta == -1;
+        double sequenceBase = Math.log10(Character.isDigit(first) ? 10 : 26) + (delta < 0 ? LOG2 : 0);
+        double repeatBase = bruteForce(first);
+
+        for (int j = start + 1; j < n && (keyboard || repeat || sequence); j++) {
+            char previous = password.charAt(j - 1);
+            char c = password.charAt(j);
+            keyboard &= previous < 128 && c < 128 && ADJACENT[previous * 128 + c];
+            repeat &= c == first;
+            sequence &= c - previous == delta;
+
+            int runLength = j - start + 1;
+            if (runLength < MIN_PATTERN) {
+                continue;
+            }
+            if (keyboard) {
+                relax(best, j + 1, base + KEYBOARD_START + (runLength - 1) * KEYBOARD_STEP);
+            }
+            if (repeat) {
+                relax(best, j + 1, base + repeatBase + Math.log10(runLength));
+            }
+            if (sequence) {
+                relax(best, j + 1, base + sequenceBase + Math.log10(runLength));
+            }
+        }
+    }
+
+    private static void matchYear(CharSequence password, int start, int n, double base, double[] best) {
+        if (start + 4 > n) {
+            return;
+        }
+        int year = 0;
+        for (int j = start; j < start + 4; j++) {
+            char c = password.charAt(j);
+            if (c < '0' || c > '9') {
+                return;
+            }
+            year = year * 10 + (c - '0');
+        }
+        if (year >= 1900 && year <= 2039) {
+            relax(best, start + 4, base + YEAR_GUESSES);
+        }
+    }
+
+    private static double bruteForce(char c) {
+        if (c >= '0' && c <= '9') {
+            return 1.0; // log10(10)
+        }
+        if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+            return 1.4149733479708178; // log10(26)
+        }
+        return c < 128 ? 1.5185139398778875 : 2.0; // log10(33) for ASCII symbols, log10(100) otherwise
+    }
+}
@@ -0,0 +1,366 @@
+package com.ppaw.passwordvault.health;
+
+import com.ppaw.passwordvault.cache.LruCache;
+import com.ppaw.passwordvault.crypto.VaultCryptoService;
+import com.ppaw.passwordvault.dto.VaultHealthItemDTO;
+import com.ppaw.passwordvault.dto.VaultHealthReportDTO;
+import com.ppaw.passwordvault.event.VaultItemChangedEvent;
+import com.ppaw.passwordvault.event.VaultShareReceivedEvent;
+import com.ppaw.passwordvault.service.VaultItemService;
+import com.ppaw.passwordvault.service.VaultVersionService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Vault health report (reused, weak, breached and old passwords).
+ *
+ * Secrets are decrypted and analyzed on a dedicated fork-join pool; only a keyed fingerprint
+ * (truncated HMAC-SHA256) and a strength score are kept per item, never the plaintext.
+ * Per-user analyses are cached in an LRU together with the vault version they reflect. Committed
+ * item changes mark single items dirty, so the next report re-analyzes only those; a gap in the
+ * version sequence (missed event) falls back to a full scan.
+ */
+@Service
+public class VaultHealthService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VaultHealthService.class);
+
+    private static final int FINGERPRINT_BYTES = 16;
+    private static final int WEAK_SCORE = 1; // Scores at or below this are reported as weak
+    private static final int[] AGE_BUCKET_DAYS = {90, 180, 365};
+
+    private static final String ITEM_COLUMNS = "SELECT id, title, encrypted_password, password_iv, password_salt, " +
+            "updated_at FROM vault_schema.vault_items ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final VaultCryptoService vaultCryptoService;
+    private final VaultVersionService vaultVersionService;
+    private final BreachedPasswordChecker breachedPasswordChecker;
+    private final PasswordStrengthEstimator passwordStrengthEstimator;
+    private final ForkJoinPool pool;
+    private final LruCache<Long, HealthState> states;
+    private final ThreadLocal<Mac> fingerprintMac;
+    private final int maxAgeDays;
+
+    public VaultHealthService(JdbcTemplate jdbcTemplate,
+                              VaultCryptoService vaultCryptoService,
+                              VaultVersionService vaultVersionService,
+                              BreachedPasswordChecker breachedPasswordChecker,
+                              PasswordStrengthEstimator passwordStrengthEstimator,
+                              @Value("${vault.health.parallelism:4}") int parallelism,
+                              @Value("${vault.health.max-users:1000}") int maxUsers,
+                              @Value("${vault.health.max-password-age-days:365}") int maxAgeDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.vaultCryptoService = vaultCryptoService;
+        this.vaultVersionService = vaultVersionService;
+        this.breachedPasswordChecker = breachedPasswordChecker;
+        this.passwordStrengthEstimator = passwordStrengthEstimator;
+        this.pool = new ForkJoinPool(parallelism);
+        this.states = new LruCache<>(maxUsers);
+        this.maxAgeDays = maxAgeDays;
+        SecretKeySpec key = new SecretKeySpec(vaultCryptoService.deriveKey("secret-fingerprint:v1"), "HmacSHA256");
+        this.fingerprintMac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance("HmacSHA256");
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 is not available", e);
+            }
+        });
+        logger.info("VaultHealthService initialized (parallelism: {}, max cached users: {})", parallelism, maxUsers);
+    }
+
+    public VaultHealthReportDTO getReport(Long userId) {
+        long version = vaultVersionService.getVersion(userId);
+        HealthState state = states.get(userId);
+        if (state == null || !state.refresh(userId, version)) {
+            state = fullScan(userId, version);
+            states.put(userId, state);
+        }
+        return state.report();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onVaultItemChanged(VaultItemChangedEvent event) {
+        HealthState state = states.get(event.getUserId());
+        if (state != null && !state.markDirty(event.getItemId(), event.getVaultVersion())) {
+            states.remove(event.getUserId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onVaultShareReceived(VaultShareReceivedEvent event) {
+        // Shared items are not part of the recipient's own vault: only the version moves
+        HealthState state = states.get(event.getRecipientUserId());
+        if (state != null && !state.markDirty(null, event.getVaultVersion())) {
+            states.remove(event.getRecipientUserId());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private HealthState fullScan(Long userId, long version) {
+        long start = System.nanoTime();
+        List<ItemRow> rows = jdbcTemplate.query(ITEM_COLUMNS + "WHERE user_id = ?", ITEM_ROW, userId);
+        HealthState state = new HealthState(version);
+        for (ItemHealth item : analyzeAll(userId, rows)) {
+            state.items.put(item.itemId, item);
+        }
+        logger.debug("Vault health full scan for user id: {} ({} items) took {} ms",
+                userId, rows.size(), (System.nanoTime() - start) / 1_000_000);
+        return state;
+    }
+
+    private List<ItemHealth> analyzeAll(Long userId, List<ItemRow> rows) {
+        try {
+            // A parallel stream started from inside the pool runs on the pool's workers
+            return pool.submit(() -> rows.parallelStream()
+                    .map(row -> analyze(userId, row))
+                    .collect(Collectors.toList())).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Vault health analysis interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Vault health analysis failed", e.getCause());
+        }
+    }
+
+    private ItemHealth analyze(Long userId, ItemRow row) {
+        if (VaultItemService.CLIENT_ENCRYPTION_SCHEME.equals(row.scheme)) {
+            return new ItemHealth(row.id, row.title, row.updatedAt, null, -1, false);
+        }
+        String password = vaultCryptoService.decrypt(userId, row.ciphertext, row.iv, row.scheme);
+        return new ItemHealth(row.id, row.title, row.updatedAt, fingerprint(userId, password),
+                passwordStrengthEstimator.score(password), breachedPasswordChecker.isBreached(password));
+    }
+
+    private String fingerprint(Long userId, String password) {
+        Mac mac = fingerprintMac.get();
+        mac.update((userId + ":").getBytes(StandardCharsets.UTF_8));
+        byte[] digest = mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, FINGERPRINT_BYTES));
+    }
+
+    private static final RowMapper<ItemRow> ITEM_ROW = (rs, rowNum) -> new ItemRow(
+            rs.getLong("id"),
+            rs.getString("title"),
+            rs.getString("encrypted_password"),
+            rs.getString("password_iv"),
+            rs.getString("password_salt"),
+            rs.getTimestamp("updated_at").toLocalDateTime());
+
+    private static final class ItemRow {
+        private final long id;
+        private final String title;
+        private final String ciphertext;
+        private final String iv;
+        private final String scheme;
+        private final LocalDateTime updatedAt;
+
+        private ItemRow(long id, String title, String ciphertext, String iv, String scheme, LocalDateTime updatedAt) {
+            this.id = id;
+            this.title = title;
+            this.ciphertext = ciphertext;
+            this.iv = iv;
+            this.scheme = scheme;
+            this.updatedAt = updatedAt;
+        }
+    }
+
+    private static final class ItemHealth {
+        private final long itemId;
+        private final String title;
+        private final LocalDateTime updatedAt;
+        private final String fingerprint; // null when the server cannot read the secret
+        private final int score;          // -1 when unknown
+        private final boolean breached;
+
+        private ItemHealth(long itemId, String title, LocalDateTime updatedAt, String fingerprint, int score,
+                           boolean breached) {
+            this.itemId = itemId;
+            this.title = title;
+            this.updatedAt = updatedAt;
+            this.fingerprint = fingerprint;
+            this.score = score;
+            this.breached = breached;
+        }
+    }
+
+    /**
+     * Cached analyses of one user. appliedVersion is the vault version covered by items + dirty.
+     */
+    private final class HealthState {
+
+        private final Map<Long, ItemHealth> items = new HashMap<>();
+        private final Set<Long> dirty = new HashSet<>();
+        private long appliedVersion;
+        private VaultHealthReportDTO report;
+        private LocalDate reportDate;
+
+        private HealthState(long appliedVersion) {
+            this.appliedVersion = appliedVersion;
+        }
+
+        /**
+         * @return false if versions were skipped and the state can no longer be patched
+         */
+        synchronized boolean markDirty(Long itemId, long version) {
+            // A bulk operation publishes several events with the same version
+            if (version != appliedVersion && version != appliedVersion + 1) {
+                return version < appliedVersion; // Already covered by a later scan
+            }
+            appliedVersion = version;
+            if (itemId != null) {
+                dirty.add(itemId);
+                report = null;
+            }
+            return true;
+        }
+
+        /**
+         * Re-analyzes dirty items if the state is at the given version.
+         * @return false if a full scan is needed
+         */
+        synchronized boolean refresh(Long userId, long version) {
+            if (appliedVersion != version) {
+                return false;
+            }
+            if (!dirty.isEmpty()) {
+                List<ItemRow> rows = new ArrayList<>(dirty.size());
+                for (Long itemId : dirty) {
+                    List<ItemRow> found = jdbcTemplate.query(ITEM_COLUMNS + "WHERE id = ? AND user_id = ?",
+                            ITEM_ROW, itemId, userId);
+                    if (found.isEmpty()) {
+                        items.remove(itemId); // Deleted
+                    } else {
+                        rows.addAll(found);
+                    }
+                }
+                for (ItemHealth item : analyzeAll(userId, rows)) {
+                    items.put(item.itemId, item);
+                }
+                logger.debug("Vault health for user id: {} re-analyzed {} changed items", userId, dirty.size());
+                dirty.clear();
+            }
+            return true;
+        }
+
+        synchronized VaultHealthReportDTO report() {
+            LocalDate today = LocalDate.now();
+            if (report == null || !today.equals(reportDate)) {
+                report = buildReport();
+                reportDate = today;
+            }
+            return report;
+        }
+
+        private VaultHealthReportDTO buildReport() {
+            LocalDateTime now = LocalDateTime.now();
+            Map<String, List<Long>> byFingerprint = new HashMap<>();
+            List<VaultHealthItemDTO> weak = new ArrayList<>();
+            List<VaultHealthItemDTO> breached = new ArrayList<>();
+            List<VaultHealthItemDTO> old = new ArrayList<>();
+            Map<String, Integer> ageBuckets = new LinkedHashMap<>();
+            ageBuckets.put("0-90", 0);
+            ageBuckets.put("90-180", 0);
+            ageBuckets.put("180-365", 0);
+            ageBuckets.put("365+", 0);
+            int analyzed = 0;
+
+            for (ItemHealth item : items.values()) {
+                long ageDays = ChronoUnit.DAYS.between(item.updatedAt, now);
+                ageBuckets.merge(ageBucket(ageDays), 1, Integer::sum);
+                if (ageDays >= maxAgeDays) {
+                    old.add(toItemDTO(item, ageDays));
+                }
+                if (item.fingerprint == null) {
+                    continue;
+                }
+                analyzed++;
+                byFingerprint.computeIfAbsent(item.fingerprint, k -> new ArrayList<>()).add(item.itemId);
+                if (item.score <= WEAK_SCORE) {
+                    weak.add(toItemDTO(item, ageDays));
+                }
+                if (item.breached) {
+                    breached.add(toItemDTO(item, ageDays));
+                }
+            }
+
+            List<List<Long>> reused = new ArrayList<>();
+            for (List<Long> ids : byFingerprint.values()) {
+                if (ids.size() > 1) {
+                    ids.sort(null);
+                    reused.add(ids);
+                }
+            }
+            reused.sort(Comparator.<List<Long>>comparingInt(List::size).reversed());
+            weak.sort(Comparator.comparing(VaultHealthItemDTO::getStrengthScore));
+            old.sort(Comparator.comparingLong(VaultHealthItemDTO::getAgeDays).reversed());
+
+            return VaultHealthReportDTO.builder()
+                    .vaultVersion(appliedVersion)
+                    .generatedAt(now)
+                    .totalItems(items.size())
+                    .analyzedItems(analyzed)
+                    .reusedGroups(reused)
+                    .reusedItems(reused.stream().mapToInt(List::size).sum())
+                    .weakItems(weak)
+                    .strengthLimited(passwordStrengthEstimator.isDictionaryLimited())
+                    .breachedItems(breachedPasswordChecker.isEnabled() ? breached : null)
+                    .oldItems(old)
+                    .ageBuckets(ageBuckets)
+                    .build();
+        }
+
+        private String ageBucket(long ageDays) {
+            if (ageDays < AGE_BUCKET_DAYS[0]) {
+                return "0-90";
+            }
+            if (ageDays < AGE_BUCKET_DAYS[1]) {
+                return "90-180";
+            }
+            return ageDays < AGE_BUCKET_DAYS[2] ? "180-365" : "365+";
+        }
+
+        private VaultHealthItemDTO toItemDTO(ItemHealth item, long ageDays) {
+            return VaultHealthItemDTO.builder()
+                    .itemId(item.itemId)
+                    .title(item.title)
+                    .strengthScore(item.score >= 0 ? item.score : null)
+                    .ageDays(ageDays)
+                    .build();
+        }
+    }
+}
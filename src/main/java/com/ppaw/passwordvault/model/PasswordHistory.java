@@ -10,7 +10,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "password_history", schema = "vault_schema", indexes = {
     @Index(name = "idx_password_history_vault_item_id", columnList = "vault_item_id"),
-    @Index(name = "idx_password_history_created_at", columnList = "created_at")
+    @Index(name = "idx_password_history_created_at", columnList = "created_at"),
+    @Index(name = "idx_password_history_item_recent", columnList = "vault_item_id, created_at DESC, id DESC")
 })
 @Data
 @NoArgsConstructor
@@ -50,6 +50,11 @@ public class User {
     @Column(nullable = false, name = "login_count")
     private Integer loginCount = 0;
 
+    // SERVER sau CLIENT (criptare pe client - serverul primește doar ciphertext)
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, name = "storage_mode", length = 10)
+    private VaultStorageMode storageMode = VaultStorageMode.SERVER;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -2,8 +2,11 @@ package com.ppaw.passwordvault.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.LazyGroup;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -12,15 +15,21 @@ import java.util.List;
 @Table(name = "vault_items", schema = "vault_schema", indexes = {
     @Index(name = "idx_vault_items_user_id", columnList = "user_id"),
     @Index(name = "idx_vault_items_folder", columnList = "folder"),
-    @Index(name = "idx_vault_items_created_at", columnList = "created_at")
+    @Index(name = "idx_vault_items_created_at", columnList = "created_at"),
+    @Index(name = "idx_vault_items_user_updated", columnList = "user_id, updated_at DESC, id DESC"),
+    @Index(name = "idx_vault_items_user_title", columnList = "user_id, title, id"),
+    @Index(name = "idx_vault_items_user_url_host", columnList = "user_id, url_host, id")
 })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class VaultItem {
 
+    // Secvență cu alocare "pooled" (50 id-uri per nextval) - permite batch insert prin JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vault_items_id_seq")
+    @SequenceGenerator(name = "vault_items_id_seq", sequenceName = "vault_items_id_seq",
+            schema = "vault_schema", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -33,21 +42,56 @@ public class VaultItem {
     @Column(name = "username")
     private String username;
 
+    // Coloanele secrete sunt încărcate lazy, împreună, doar când sunt accesate
+    // (necesită bytecode enhancement - hibernate-enhance-maven-plugin în pom.xml)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("secret")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @Column(nullable = false, name = "encrypted_password", columnDefinition = "TEXT")
     private String encryptedPassword;
 
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("secret")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @Column(nullable = false, name = "password_iv")
     private String passwordIv;
 
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("secret")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @Column(nullable = false, name = "password_salt")
     private String passwordSalt;
 
     @Column(length = 500)
     private String url;
 
+    // Host normalizat din url (UrlHosts.normalizeHost) - folosit pentru autofill
+    @Column(name = "url_host")
+    private String urlHost;
+
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("secret")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @Column(columnDefinition = "TEXT")
     private String notes;
 
+    // Blind index (HMAC) pentru căutare fără decriptare - calculate de BlindIndexService
+    @Column(name = "title_bidx", length = 32)
+    private String titleBidx;
+
+    @Column(name = "username_bidx", length = 32)
+    private String usernameBidx;
+
+    @Column(name = "url_host_bidx", length = 32)
+    private String urlHostBidx;
+
+    @Column(name = "url_domain_bidx", length = 32)
+    private String urlDomainBidx;
+
     private String folder;
 
     private String tags;
@@ -61,6 +105,11 @@ public class VaultItem {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    // Optimistic locking: incremented on every UPDATE, sent to clients as the item ETag
+    @Version
+    @Column(nullable = false)
+    private Long version = 0L;
+
     @OneToMany(mappedBy = "vaultItem", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<PasswordHistory> passwordHistory;
 
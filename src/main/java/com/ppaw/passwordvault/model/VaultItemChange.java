@@ -0,0 +1,48 @@
+package com.ppaw.passwordvault.model;
+
+import com.ppaw.passwordvault.event.VaultItemChangedEvent;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Change journal entry for delta sync (vault_item_changes).
+ * Rows are written by VaultChangeJournalService in the mutating transaction; the entity is read-only.
+ */
+@Entity
+@Immutable
+@Table(name = "vault_item_changes", schema = "vault_schema", indexes = {
+    @Index(name = "idx_vault_item_changes_user_seq", columnList = "user_id, seq")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VaultItemChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "vault_item_id", nullable = false)
+    private Long vaultItemId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private VaultItemChangedEvent.Operation operation;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    @Column(name = "item_version")
+    private Long itemVersion; // VaultItem.version after the change
+
+    @Column(name = "changed_fields", length = 200)
+    private String changedFields; // Comma-separated; null = all fields
+}
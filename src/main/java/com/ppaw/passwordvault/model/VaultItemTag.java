@@ -0,0 +1,35 @@
+package com.ppaw.passwordvault.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Normalized tag of a vault item (vault_item_tags), derived from VaultItem.tags.
+ * Maintained by VaultTagService; mapped only so JPQL filters can reference it.
+ */
+@Entity
+@Immutable
+@IdClass(VaultItemTagId.class)
+@Table(name = "vault_item_tags", schema = "vault_schema", indexes = {
+    @Index(name = "idx_vault_item_tags_item", columnList = "vault_item_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VaultItemTag {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Id
+    @Column(nullable = false, length = 100)
+    private String tag;
+
+    @Id
+    @Column(name = "vault_item_id", nullable = false)
+    private Long vaultItemId;
+}
@@ -0,0 +1,16 @@
+package com.ppaw.passwordvault.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VaultItemTagId implements Serializable {
+    private Long userId;
+    private String tag;
+    private Long vaultItemId;
+}
@@ -0,0 +1,9 @@
+package com.ppaw.passwordvault.model;
+
+/**
+ * How the passwords of a user's vault are encrypted.
+ */
+public enum VaultStorageMode {
+    SERVER, // Encrypted by the server (VaultCryptoService)
+    CLIENT  // Encrypted by the client; the server stores opaque ciphertext
+}
@@ -0,0 +1,322 @@
+package com.ppaw.passwordvault.push;
+
+import com.ppaw.passwordvault.dto.VaultPushEventDTO;
+import com.ppaw.passwordvault.event.VaultItemChangedEvent;
+import com.ppaw.passwordvault.event.VaultShareReceivedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fan-out of committed vault changes to a user's connected devices over Server-Sent Events.
+ *
+ * Idle connections hold no thread (servlet async via SseEmitter). Each connection has a bounded
+ * queue; publishing only enqueues and schedules a drain on a small writer pool, so a commit never
+ * waits on a socket. When a queue overflows the pending events are dropped and replaced by a single
+ * "resync" event: the client then catches up through GET /api/vault/changes.
+ *
+ * SseEmitter.send blocks while the client's socket buffer is full. Every send has a deadline
+ * (vault.push.write-timeout-ms): a watchdog drops a connection whose send overruns it and lends the
+ * pool a replacement thread until that send returns (the container's socket timeout ends it), so
+ * stalled clients cannot take every writer.
+ */
+@Component
+public class VaultEventHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(VaultEventHub.class);
+
+    static final String EVENT_CHANGE = "change";
+    static final String EVENT_RESYNC = "resync";
+
+    private static final long SEND_IDLE = Long.MIN_VALUE;
+    private static final long SEND_STALLED = Long.MIN_VALUE + 1;
+
+    private final Map<Long, Deque<Connection>> connectionsByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final ThreadPoolExecutor writers;
+    private final int writerThreads;
+    private final AtomicInteger stalledWriters = new AtomicInteger();
+    private final int bufferSize;
+    private final int maxConnectionsPerUser;
+    private final long timeoutMillis;
+    private final long writeTimeoutNanos;
+
+    public VaultEventHub(@Value("${vault.push.buffer-size:64}") int bufferSize,
+                         @Value("${vault.push.max-connections-per-user:10}") int maxConnectionsPerUser,
+                         @Value("${vault.push.timeout-minutes:30}") long timeoutMinutes,
+                         @Value("${vault.push.writer-threads:4}") int writerThreads,
+                         @Value("${vault.push.write-timeout-ms:10000}") long writeTimeoutMillis) {
+        this.bufferSize = bufferSize;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.timeoutMillis = TimeUnit.MINUTES.toMillis(timeoutMinutes);
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMillis);
+        this.writerThreads = writerThreads;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.writers = new ThreadPoolExecutor(writerThreads, writerThreads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "vault-push-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        logger.info("VaultEventHub initialized (buffer: {}, max connections per user: {}, writers: {}, write timeout: {} ms)",
+                bufferSize, maxConnectionsPerUser, writerThreads, writeTimeoutMillis);
+    }
+
+    /**
+     * Registers a new device connection. The oldest connection is closed when the user is over the limit.
+     */
+    public SseEmitter subscribe(Long userId, long vaultVersion) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Connection connection = new Connection(userId, emitter, bufferSize);
+        connection.lastVersion = vaultVersion;
+        // compute() so a concurrent unregister cannot drop the deque we are adding to
+        Deque<Connection> connections = connectionsByUser.compute(userId, (id, existing) -> {
+            Deque<Connection> deque = existing != null ? existing : new ConcurrentLinkedDeque<>();
+            deque.addLast(connection);
+            return deque;
+        });
+        connectionCount.incrementAndGet();
+
+        emitter.onCompletion(() -> unregister(connection));
+        emitter.onTimeout(() -> unregister(connection));
+        emitter.onError(error -> unregister(connection));
+
+        while (connections.size() > maxConnectionsPerUser) {
+            Connection oldest = connections.pollFirst();
+            if (oldest == null) {
+                break;
+            }
+            oldest.close();
+        }
+
+        // First event tells the client which version the stream starts from
+        enqueue(connection, new Message(EVENT_RESYNC,
+                VaultPushEventDTO.builder().operation(EVENT_RESYNC).vaultVersion(vaultVersion).build()));
+        logger.debug("SSE connection opened for user id: {} ({} open in total)", userId, connectionCount.get());
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onVaultItemChanged(VaultItemChangedEvent event) {
+        publish(event.getUserId(), VaultPushEventDTO.builder()
+                .itemId(event.getItemId())
+                .operation(event.getOperation().name())
+                .vaultVersion(event.getVaultVersion())
+                .build());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onVaultShareReceived(VaultShareReceivedEvent event) {
+        publish(event.getRecipientUserId(), VaultPushEventDTO.builder()
+                .itemId(event.getItemId())
+                .operation("SHARED")
+                .vaultVersion(event.getVaultVersion())
+                .build());
+    }
+
+    public void publish(Long userId, VaultPushEventDTO payload) {
+        Deque<Connection> connections = connectionsByUser.get(userId);
+        if (connections == null) {
+            return;
+        }
+        Message message = new Message(EVENT_CHANGE, payload);
+        for (Connection connection : connections) {
+            enqueue(connection, message);
+        }
+    }
+
+    /**
+     * Comment-only heartbeat so proxies keep idle streams open and dead clients are detected.
+     */
+    @Scheduled(fixedDelayString = "${vault.push.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (Deque<Connection> connections : connectionsByUser.values()) {
+            for (Connection connection : connections) {
+                enqueue(connection, Message.HEARTBEAT);
+            }
+        }
+    }
+
+    /**
+     * Drops connections whose current send has run past the write deadline. The connection is unregistered
+     * right away (no further drains); the emitter itself is completed by its writer once the send returns,
+     * since SseEmitter does not allow completing it while a send is in progress.
+     */
+    @Scheduled(fixedDelayString = "${vault.push.write-check-ms:1000}")
+    public void abortStalledWrites() {
+        long now = System.nanoTime();
+        for (Deque<Connection> connections : connectionsByUser.values()) {
+            for (Connection connection : connections) {
+                long startedAt = connection.sendStartedAt.get();
+                // The CAS claims the send; the writer finds SEND_STALLED when it returns
+                if (startedAt == SEND_IDLE || startedAt == SEND_STALLED || now - startedAt < writeTimeoutNanos
+                        || !connection.sendStartedAt.compareAndSet(startedAt, SEND_STALLED)) {
+                    continue;
+                }
+                logger.warn("SSE send for user id: {} exceeded the write timeout, dropping the connection", connection.userId);
+                unregister(connection);
+                resizeWriters(stalledWriters.incrementAndGet());
+            }
+        }
+    }
+
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connectionsByUser.values().forEach(connections -> connections.forEach(Connection::close));
+        writers.shutdownNow();
+    }
+
+    private void enqueue(Connection connection, Message message) {
+        if (message.payload != null && message.payload.getVaultVersion() > connection.lastVersion) {
+            connection.lastVersion = message.payload.getVaultVersion();
+        }
+        if (!connection.queue.offer(message)) {
+            // Slow consumer: drop everything pending and ask the client to catch up via /changes
+            connection.queue.clear();
+            connection.queue.offer(new Message(EVENT_RESYNC, VaultPushEventDTO.builder()
+                    .operation(EVENT_RESYNC)
+                    .vaultVersion(connection.lastVersion)
+                    .build()));
+            logger.debug("SSE buffer overflow for user id: {}, events dropped", connection.userId);
+        }
+        scheduleDrain(connection);
+    }
+
+    private void scheduleDrain(Connection connection) {
+        if (connection.closed.get() || !connection.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            writers.execute(() -> drain(connection));
+        } catch (RejectedExecutionException e) {
+            connection.draining.set(false);
+        }
+    }
+
+    // Single writer per connection: only the task holding "draining" sends on the emitter
+    private void drain(Connection connection) {
+        try {
+            Message message;
+            while (!connection.closed.get() && (message = connection.queue.poll()) != null) {
+                long startedAt = System.nanoTime();
+                connection.sendStartedAt.set(startedAt);
+                if (message == Message.HEARTBEAT) {
+                    connection.emitter.send(SseEmitter.event().comment("ping"));
+                } else {
+                    connection.emitter.send(SseEmitter.event().name(message.name).data(message.payload));
+                }
+                if (!connection.sendStartedAt.compareAndSet(startedAt, SEND_IDLE)) {
+                    break; // Claimed by abortStalledWrites
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("SSE connection for user id: {} closed: {}", connection.userId, e.getMessage());
+            connection.close();
+        } finally {
+            if (connection.sendStartedAt.getAndSet(SEND_IDLE) == SEND_STALLED) {
+                releaseStalled(connection);
+            }
+            connection.draining.set(false);
+        }
+        // An event may have been enqueued after the last poll but before "draining" was released
+        if (!connection.queue.isEmpty()) {
+            scheduleDrain(connection);
+        }
+    }
+
+    // Runs on the writer thread once the overdue send has returned (or failed)
+    private void releaseStalled(Connection connection) {
+        try {
+            connection.emitter.complete();
+        } catch (RuntimeException e) {
+            logger.debug("Completing stalled SSE connection for user id: {} failed: {}", connection.userId, e.getMessage());
+        }
+        resizeWriters(stalledWriters.decrementAndGet());
+    }
+
+    // One extra writer per stalled send, at most doubling the pool
+    private synchronized void resizeWriters(int stalled) {
+        int size = writerThreads + Math.min(Math.max(stalled, 0), writerThreads);
+        if (size > writers.getMaximumPoolSize()) {
+            writers.setMaximumPoolSize(size);
+            writers.setCorePoolSize(size);
+        } else if (size < writers.getMaximumPoolSize()) {
+            writers.setCorePoolSize(size);
+            writers.setMaximumPoolSize(size);
+        }
+    }
+
+    private void unregister(Connection connection) {
+        if (!connection.registered.compareAndSet(true, false)) {
+            return;
+        }
+        connection.closed.set(true);
+        connection.queue.clear();
+        connectionCount.decrementAndGet();
+        connectionsByUser.computeIfPresent(connection.userId, (userId, connections) -> {
+            connections.remove(connection);
+            return connections.isEmpty() ? null : connections;
+        });
+    }
+
+    private static final class Connection {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<Message> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicBoolean registered = new AtomicBoolean(true);
+        private volatile long lastVersion;
+        // System.nanoTime() when the current send began, or SEND_IDLE / SEND_STALLED
+        private final AtomicLong sendStartedAt = new AtomicLong(SEND_IDLE);
+
+        private Connection(Long userId, SseEmitter emitter, int bufferSize) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        private void close() {
+            if (closed.compareAndSet(false, true)) {
+                emitter.complete();
+            }
+        }
+    }
+
+    private static final class Message {
+        private static final Message HEARTBEAT = new Message(null, null);
+
+        private final String name;
+        private final VaultPushEventDTO payload;
+
+        private Message(String name, VaultPushEventDTO payload) {
+            this.name = name;
+            this.payload = payload;
+        }
+    }
+}
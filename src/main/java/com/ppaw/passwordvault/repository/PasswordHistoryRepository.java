@@ -14,14 +14,24 @@ public interface PasswordHistoryRepository extends JpaRepository<PasswordHistory
     
     List<PasswordHistory> findByVaultItemIdOrderByCreatedAtDesc(Long vaultItemId);
     
-    @Query("SELECT COUNT(h) FROM PasswordHistory h WHERE h.vaultItem.id = :vaultItemId")
-    Long countByVaultItemId(@Param("vaultItemId") Long vaultItemId);
-    
-    // Delete old password history versions, keeping only the most recent ones
+    /**
+     * Appends a history entry and trims the item's history to the newest keepCount entries in one
+     * statement. The DELETE runs on the pre-insert snapshot, so it keeps keepCount - 1 existing rows
+     * (served by idx_password_history_item_recent) next to the one being inserted.
+     * @return number of trimmed entries
+     */
     @Modifying
-    @Query(value = "DELETE FROM vault_schema.password_history WHERE vault_item_id = :vaultItemId AND id NOT IN " +
-           "(SELECT id FROM (SELECT id FROM vault_schema.password_history WHERE vault_item_id = :vaultItemId " +
-           "ORDER BY created_at DESC LIMIT :keepCount) AS recent)", nativeQuery = true)
-    void deleteOldVersions(@Param("vaultItemId") Long vaultItemId, @Param("keepCount") Integer keepCount);
+    @Query(value = "WITH inserted AS (" +
+           "INSERT INTO vault_schema.password_history (vault_item_id, encrypted_password, password_iv, password_salt, created_at) " +
+           "VALUES (:vaultItemId, :encryptedPassword, :passwordIv, :passwordSalt, now()) RETURNING id) " +
+           "DELETE FROM vault_schema.password_history h WHERE h.vault_item_id = :vaultItemId " +
+           "AND h.id NOT IN (SELECT id FROM inserted) " +
+           "AND h.id NOT IN (SELECT r.id FROM vault_schema.password_history r WHERE r.vault_item_id = :vaultItemId " +
+           "ORDER BY r.created_at DESC, r.id DESC LIMIT :keepCount - 1)", nativeQuery = true)
+    int appendAndTrim(@Param("vaultItemId") Long vaultItemId,
+                      @Param("encryptedPassword") String encryptedPassword,
+                      @Param("passwordIv") String passwordIv,
+                      @Param("passwordSalt") String passwordSalt,
+                      @Param("keepCount") int keepCount);
 }
 
@@ -1,8 +1,10 @@
 package com.ppaw.passwordvault.repository;
 
 import com.ppaw.passwordvault.model.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -56,5 +58,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Lazy loading - implicit (servicePlan se încarcă doar când e accesat)
     // Doar citește user-ul fără să încarce relațiile
     Optional<User> findById(Long id);
+    
+    // SELECT ... FOR UPDATE: serializează citirea/schimbarea storageMode cu crearea de elemente
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findByIdForUpdate(@Param("id") Long id);
 }
 
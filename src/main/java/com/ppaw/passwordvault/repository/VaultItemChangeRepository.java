@@ -0,0 +1,21 @@
+package com.ppaw.passwordvault.repository;
+
+import com.ppaw.passwordvault.model.VaultItemChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface VaultItemChangeRepository extends JpaRepository<VaultItemChange, Long> {
+
+    // Keyset read over idx_vault_item_changes_user_seq
+    @Query("SELECT c FROM VaultItemChange c WHERE c.userId = :userId AND c.seq > :since ORDER BY c.seq")
+    List<VaultItemChange> findChangesAfter(@Param("userId") Long userId, @Param("since") long since, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(c.seq), 0) FROM VaultItemChange c WHERE c.userId = :userId")
+    long findLatestSeq(@Param("userId") Long userId);
+}
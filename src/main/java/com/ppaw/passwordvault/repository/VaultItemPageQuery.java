@@ -0,0 +1,35 @@
+package com.ppaw.passwordvault.repository;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keyset page request for vault items.
+ * The cursor is the (sort key, id) pair of the last row of the previous page.
+ */
+@Data
+@Builder
+public class VaultItemPageQuery {
+
+    public enum Sort {
+        UPDATED_AT, // updated_at DESC, id DESC
+        TITLE       // title ASC, id ASC
+    }
+
+    private Long userId;
+    private Sort sort;
+    private int limit;
+
+    // Filters (null = not applied)
+    private String folder;
+    private Boolean favorite;
+    private List<String> tags; // Normalized (VaultTagService.parseTags); an item must have all of them
+
+    // Cursor (null = first page); only the field matching the sort is used
+    private LocalDateTime afterUpdatedAt;
+    private String afterTitle;
+    private Long afterId;
+}
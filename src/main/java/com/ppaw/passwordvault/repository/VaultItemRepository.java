@@ -1,23 +1,75 @@
 package com.ppaw.passwordvault.repository;
 
+import com.ppaw.passwordvault.dto.VaultItemDTO;
+import com.ppaw.passwordvault.dto.VaultItemSummaryDTO;
 import com.ppaw.passwordvault.model.VaultItem;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface VaultItemRepository extends JpaRepository<VaultItem, Long> {
+public interface VaultItemRepository extends JpaRepository<VaultItem, Long>, VaultItemRepositoryCustom {
     
     // Find vault items by user.id (using Spring Data JPA property path)
     @Query("SELECT v FROM VaultItem v WHERE v.user.id = :userId")
     List<VaultItem> findByUserId(@Param("userId") Long userId);
     
+    // Projection - nu încarcă coloanele secrete (parola criptată, notes) și nu face join pe users
+    @Query("SELECT new com.ppaw.passwordvault.dto.VaultItemDTO(v.id, v.user.id, v.title, v.username, v.url, " +
+           "v.folder, v.tags, v.isFavorite, v.createdAt, v.updatedAt, v.version) FROM VaultItem v WHERE v.user.id = :userId")
+    List<VaultItemDTO> findDTOsByUserId(@Param("userId") Long userId);
+
+    // Export - cursor pe server (fetch size), rândurile nu ajung în persistence context; închis de apelant.
+    // Singura proiecție cu notes: exportul este o copie completă cerută explicit, ca reveal
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.ppaw.passwordvault.dto.VaultItemDTO(v.id, v.user.id, v.title, v.username, v.url, v.notes, " +
+           "v.folder, v.tags, v.isFavorite, v.createdAt, v.updatedAt, v.version) FROM VaultItem v " +
+           "WHERE v.user.id = :userId ORDER BY v.id")
+    Stream<VaultItemDTO> streamDTOsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT new com.ppaw.passwordvault.dto.VaultItemDTO(v.id, v.user.id, v.title, v.username, v.url, " +
+           "v.folder, v.tags, v.isFavorite, v.createdAt, v.updatedAt, v.version) FROM VaultItem v WHERE v.id = :id")
+    Optional<VaultItemDTO> findDTOById(@Param("id") Long id);
+
+    @Query("SELECT new com.ppaw.passwordvault.dto.VaultItemDTO(v.id, v.user.id, v.title, v.username, v.url, " +
+           "v.folder, v.tags, v.isFavorite, v.createdAt, v.updatedAt, v.version) FROM VaultItem v " +
+           "WHERE v.user.id = :userId AND v.id IN :ids")
+    List<VaultItemDTO> findDTOsByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.ppaw.passwordvault.dto.VaultItemDTO(v.id, v.user.id, v.title, v.username, v.url, " +
+           "v.folder, v.tags, v.isFavorite, v.createdAt, v.updatedAt, v.version) FROM VaultItem v " +
+           "WHERE v.user.id = :userId AND v.isFavorite = :isFavorite")
+    List<VaultItemDTO> findDTOsByUserIdAndIsFavorite(@Param("userId") Long userId, @Param("isFavorite") Boolean isFavorite);
+
+    @Query("SELECT new com.ppaw.passwordvault.dto.VaultItemSummaryDTO(v.id, v.user.id, v.title, v.username, v.url, " +
+           "v.folder, v.tags, v.isFavorite, v.createdAt, v.updatedAt) FROM VaultItem v " +
+           "WHERE v.user.id = :userId AND v.id IN :ids")
+    List<VaultItemSummaryDTO> findSummariesByIds(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    // Doar câmpurile folosite de indexul typeahead: id, title, username, url
+    @Query("SELECT v.id, v.title, v.username, v.url FROM VaultItem v WHERE v.user.id = :userId")
+    List<Object[]> findTypeaheadRowsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT v.id, v.urlHost FROM VaultItem v WHERE v.user.id = :userId AND v.urlHost IS NOT NULL")
+    List<Object[]> findUrlHostsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT v FROM VaultItem v WHERE v.user.id = :userId AND v.id IN :ids")
+    List<VaultItem> findAllByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    @Query("SELECT COUNT(v) FROM VaultItem v WHERE v.user.id = :userId")
+    long countByUserId(@Param("userId") Long userId);
+    
     // LAB 8: Method required for Task A2
     default List<VaultItem> findAllByUserId(Long userId) {
         return findByUserId(userId);
@@ -0,0 +1,35 @@
+package com.ppaw.passwordvault.repository;
+
+import com.ppaw.passwordvault.dto.TagCountDTO;
+import com.ppaw.passwordvault.dto.VaultItemSummaryDTO;
+
+import java.util.List;
+
+/**
+ * Custom queries for VaultItem that need dynamic JPQL (filters + keyset conditions).
+ */
+public interface VaultItemRepositoryCustom {
+
+    List<VaultItemSummaryDTO> findSummaryPage(VaultItemPageQuery query);
+
+    /**
+     * Ranked full-text search on the generated search_vector column (GIN index).
+     */
+    List<VaultItemSummaryDTO> searchFullText(Long userId, String text, int offset, int limit);
+
+    /**
+     * Substring search on title/username/url, served by the trigram GIN index.
+     */
+    List<VaultItemSummaryDTO> searchSubstring(Long userId, String text, int offset, int limit);
+
+    /**
+     * Item count per normalized tag among the user's items matching the optional facets.
+     */
+    List<TagCountDTO> countTags(Long userId, String folder, Boolean favorite, List<String> tags);
+
+    /**
+     * Exact-match lookup on the blind index columns; null arguments are not applied.
+     */
+    List<VaultItemSummaryDTO> findSummariesByBlindIndex(Long userId, String titleBidx, String usernameBidx,
+                                                        String urlHostBidx, String urlDomainBidx, int limit);
+}
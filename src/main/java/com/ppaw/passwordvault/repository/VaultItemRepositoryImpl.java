@@ -0,0 +1,224 @@
+package com.ppaw.passwordvault.repository;
+
+import com.ppaw.passwordvault.dto.TagCountDTO;
+import com.ppaw.passwordvault.dto.VaultItemSummaryDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementation of {@link VaultItemRepositoryCustom}, picked up by Spring Data via the "Impl" suffix.
+ */
+public class VaultItemRepositoryImpl implements VaultItemRepositoryCustom {
+
+    static final String SUMMARY_SELECT = "SELECT new com.ppaw.passwordvault.dto.VaultItemSummaryDTO(" +
+            "v.id, v.user.id, v.title, v.username, v.url, v.folder, v.tags, v.isFavorite, v.createdAt, v.updatedAt) " +
+            "FROM VaultItem v ";
+
+    // Same column order as the VaultItemSummaryDTO constructor
+    private static final String SUMMARY_COLUMNS = "v.id, v.user_id, v.title, v.username, v.url, v.folder, v.tags, " +
+            "v.is_favorite, v.created_at, v.updated_at";
+
+    // Must match the expression of idx_vault_items_search_trgm (V15) so the index is used
+    private static final String TRIGRAM_EXPRESSION =
+            "(coalesce(v.title, '') || ' ' || coalesce(v.username, '') || ' ' || coalesce(v.url, ''))";
+
+    // Items of :userId carrying every tag in :tags (served by pk_vault_item_tags)
+    private static final String TAGGED_ITEMS_JPQL = "SELECT t.vaultItemId FROM VaultItemTag t " +
+            "WHERE t.userId = :userId AND t.tag IN :tags GROUP BY t.vaultItemId HAVING COUNT(t) = :tagCount";
+
+    private static final String TAGGED_ITEMS_SQL = "SELECT ft.vault_item_id FROM vault_schema.vault_item_tags ft " +
+            "WHERE ft.user_id = :userId AND ft.tag IN (:tags) GROUP BY ft.vault_item_id HAVING COUNT(*) = :tagCount";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<VaultItemSummaryDTO> findSummaryPage(VaultItemPageQuery query) {
+        boolean byTitle = query.getSort() == VaultItemPageQuery.Sort.TITLE;
+        boolean hasCursor = query.getAfterId() != null;
+
+        StringBuilder jpql = new StringBuilder(SUMMARY_SELECT).append("WHERE v.user.id = :userId");
+        if (query.getFolder() != null) {
+            jpql.append(" AND v.folder = :folder");
+        }
+        if (query.getFavorite() != null) {
+            jpql.append(" AND v.isFavorite = :favorite");
+        }
+        boolean hasTags = query.getTags() != null && !query.getTags().isEmpty();
+        if (hasTags) {
+            jpql.append(" AND v.id IN (").append(TAGGED_ITEMS_JPQL).append(")");
+        }
+        if (hasCursor) {
+            // Row-value comparison written out so it stays index-friendly on (user_id, key, id)
+            if (byTitle) {
+                jpql.append(" AND (v.title > :afterKey OR (v.title = :afterKey AND v.id > :afterId))");
+            } else {
+                jpql.append(" AND (v.updatedAt < :afterKey OR (v.updatedAt = :afterKey AND v.id < :afterId))");
+            }
+        }
+        jpql.append(byTitle ? " ORDER BY v.title ASC, v.id ASC" : " ORDER BY v.updatedAt DESC, v.id DESC");
+
+        TypedQuery<VaultItemSummaryDTO> typedQuery = entityManager.createQuery(jpql.toString(), VaultItemSummaryDTO.class)
+                .setParameter("userId", query.getUserId())
+                .setMaxResults(query.getLimit());
+        if (query.getFolder() != null) {
+            typedQuery.setParameter("folder", query.getFolder());
+        }
+        if (query.getFavorite() != null) {
+            typedQuery.setParameter("favorite", query.getFavorite());
+        }
+        if (hasTags) {
+            typedQuery.setParameter("tags", query.getTags());
+            typedQuery.setParameter("tagCount", (long) query.getTags().size());
+        }
+        if (hasCursor) {
+            typedQuery.setParameter("afterKey", byTitle ? query.getAfterTitle() : query.getAfterUpdatedAt());
+            typedQuery.setParameter("afterId", query.getAfterId());
+        }
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public List<VaultItemSummaryDTO> findSummariesByBlindIndex(Long userId, String titleBidx, String usernameBidx,
+                                                               String urlHostBidx, String urlDomainBidx, int limit) {
+        StringBuilder jpql = new StringBuilder(SUMMARY_SELECT).append("WHERE v.user.id = :userId");
+        if (titleBidx != null) {
+            jpql.append(" AND v.titleBidx = :titleBidx");
+        }
+        if (usernameBidx != null) {
+            jpql.append(" AND v.usernameBidx = :usernameBidx");
+        }
+        if (urlHostBidx != null) {
+            jpql.append(" AND v.urlHostBidx = :urlHostBidx");
+        }
+        if (urlDomainBidx != null) {
+            jpql.append(" AND v.urlDomainBidx = :urlDomainBidx");
+        }
+        jpql.append(" ORDER BY v.updatedAt DESC, v.id DESC");
+
+        TypedQuery<VaultItemSummaryDTO> typedQuery = entityManager.createQuery(jpql.toString(), VaultItemSummaryDTO.class)
+                .setParameter("userId", userId)
+                .setMaxResults(limit);
+        if (titleBidx != null) {
+            typedQuery.setParameter("titleBidx", titleBidx);
+        }
+        if (usernameBidx != null) {
+            typedQuery.setParameter("usernameBidx", usernameBidx);
+        }
+        if (urlHostBidx != null) {
+            typedQuery.setParameter("urlHostBidx", urlHostBidx);
+        }
+        if (urlDomainBidx != null) {
+            typedQuery.setParameter("urlDomainBidx", urlDomainBidx);
+        }
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public List<VaultItemSummaryDTO> searchFullText(Long userId, String text, int offset, int limit) {
+        String sql = "SELECT " + SUMMARY_COLUMNS + " FROM vault_schema.vault_items v, " +
+                "websearch_to_tsquery('simple', :text) q " +
+                "WHERE v.user_id = :userId AND v.search_vector @@ q " +
+                "ORDER BY ts_rank_cd(v.search_vector, q) DESC, v.id " +
+                "OFFSET :offset LIMIT :limit";
+        return toSummaries(entityManager.createNativeQuery(sql)
+                .setParameter("userId", userId)
+                .setParameter("text", text)
+                .setParameter("offset", offset)
+                .setParameter("limit", limit)
+                .getResultList());
+    }
+
+    @Override
+    public List<VaultItemSummaryDTO> searchSubstring(Long userId, String text, int offset, int limit) {
+        String sql = "SELECT " + SUMMARY_COLUMNS + " FROM vault_schema.vault_items v " +
+                "WHERE v.user_id = :userId AND " + TRIGRAM_EXPRESSION + " ILIKE :pattern " +
+                "ORDER BY public.similarity(" + TRIGRAM_EXPRESSION + ", :text) DESC, v.id " +
+                "OFFSET :offset LIMIT :limit";
+        return toSummaries(entityManager.createNativeQuery(sql)
+                .setParameter("userId", userId)
+                .setParameter("pattern", "%" + escapeLike(text) + "%")
+                .setParameter("text", text)
+                .setParameter("offset", offset)
+                .setParameter("limit", limit)
+                .getResultList());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<TagCountDTO> countTags(Long userId, String folder, Boolean favorite, List<String> tags) {
+        boolean hasTags = tags != null && !tags.isEmpty();
+        boolean joinItems = folder != null || favorite != null;
+
+        // Without item facets only vault_item_tags is read (index-only scan on its primary key)
+        StringBuilder sql = new StringBuilder("SELECT t.tag, COUNT(*) FROM vault_schema.vault_item_tags t ");
+        if (joinItems) {
+            sql.append("JOIN vault_schema.vault_items v ON v.id = t.vault_item_id ");
+        }
+        sql.append("WHERE t.user_id = :userId");
+        if (folder != null) {
+            sql.append(" AND v.folder = :folder");
+        }
+        if (favorite != null) {
+            sql.append(" AND v.is_favorite = :favorite");
+        }
+        if (hasTags) {
+            sql.append(" AND t.vault_item_id IN (").append(TAGGED_ITEMS_SQL).append(")");
+        }
+        sql.append(" GROUP BY t.tag ORDER BY COUNT(*) DESC, t.tag");
+
+        Query query = entityManager.createNativeQuery(sql.toString()).setParameter("userId", userId);
+        if (folder != null) {
+            query.setParameter("folder", folder);
+        }
+        if (favorite != null) {
+            query.setParameter("favorite", favorite);
+        }
+        if (hasTags) {
+            query.setParameter("tags", tags);
+            query.setParameter("tagCount", tags.size());
+        }
+        List<TagCountDTO> result = new ArrayList<>();
+        for (Object[] row : (List<Object[]>) query.getResultList()) {
+            result.add(new TagCountDTO((String) row[0], ((Number) row[1]).longValue()));
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<VaultItemSummaryDTO> toSummaries(List<?> rows) {
+        List<VaultItemSummaryDTO> result = new ArrayList<>(rows.size());
+        for (Object[] row : (List<Object[]>) rows) {
+            result.add(new VaultItemSummaryDTO(
+                    ((Number) row[0]).longValue(),
+                    ((Number) row[1]).longValue(),
+                    (String) row[2],
+                    (String) row[3],
+                    (String) row[4],
+                    (String) row[5],
+                    (String) row[6],
+                    (Boolean) row[7],
+                    toLocalDateTime(row[8]),
+                    toLocalDateTime(row[9])));
+        }
+        return result;
+    }
+
+    static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,136 @@
+package com.ppaw.passwordvault.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trie over reversed domain labels ("login.github.com" is stored as com -> github -> login).
+ * Finding the items for a page walks one node per label of its host, so the cost depends on
+ * the host depth and the number of matches, not on the vault size.
+ */
+public class DomainTrie {
+
+    private static class Node {
+        private final Map<String, Node> children = new TreeMap<>();
+        private final Set<Long> itemIds = new LinkedHashSet<>();
+    }
+
+    private final Node root = new Node();
+    private final Map<Long, String> hostsByItem = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(Long itemId, String host) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(itemId);
+            if (host == null) {
+                return;
+            }
+            Node node = root;
+            for (String label : reversedLabels(host)) {
+                node = node.children.computeIfAbsent(label, l -> new Node());
+            }
+            node.itemIds.add(itemId);
+            hostsByItem.put(itemId, host);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Items saved for {@code host} itself or for one of its parent domains down to the registrable
+     * domain, ordered exact host first, then parents (closest first).
+     * Sibling subdomains never match: without a full public suffix list (private suffixes such as
+     * github.io) a sibling may belong to someone else.
+     */
+    public List<Long> match(String host) {
+        String registrable = UrlHosts.registrableDomain(host);
+        String[] hostLabels = reversedLabels(host);
+        int registrableDepth = reversedLabels(registrable).length;
+
+        lock.readLock().lock();
+        try {
+            // Walk down the page host, remembering the nodes from the registrable domain down to the host
+            List<Node> path = new ArrayList<>();
+            Node node = root;
+            for (int i = 0; i < hostLabels.length && node != null; i++) {
+                node = node.children.get(hostLabels[i]);
+                if (node != null && i + 1 >= registrableDepth) {
+                    path.add(node);
+                }
+            }
+            if (path.isEmpty()) {
+                return new ArrayList<>();
+            }
+
+            // Deepest node first: the exact host (when present), then its parents
+            List<Long> result = new ArrayList<>();
+            for (int i = path.size() - 1; i >= 0; i--) {
+                result.addAll(path.get(i).itemIds);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return hostsByItem.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(Long itemId) {
+        String host = hostsByItem.remove(itemId);
+        if (host == null) {
+            return;
+        }
+        String[] labels = reversedLabels(host);
+        Node[] nodes = new Node[labels.length + 1];
+        nodes[0] = root;
+        for (int i = 0; i < labels.length; i++) {
+            nodes[i + 1] = nodes[i].children.get(labels[i]);
+            if (nodes[i + 1] == null) {
+                return;
+            }
+        }
+        nodes[labels.length].itemIds.remove(itemId);
+        // Prune empty branches bottom-up
+        for (int i = labels.length; i > 0; i--) {
+            Node current = nodes[i];
+            if (!current.itemIds.isEmpty() || !current.children.isEmpty()) {
+                break;
+            }
+            nodes[i - 1].children.remove(labels[i - 1]);
+        }
+    }
+
+    private static String[] reversedLabels(String host) {
+        String[] labels = host.split("\\.");
+        for (int i = 0, j = labels.length - 1; i < j; i++, j--) {
+            String tmp = labels[i];
+            labels[i] = labels[j];
+            labels[j] = tmp;
+        }
+        return labels;
+    }
+}
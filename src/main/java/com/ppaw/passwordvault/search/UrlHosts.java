@@ -0,0 +1,86 @@
+package com.ppaw.passwordvault.search;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Helpers for turning the free-form VaultItem.url into a normalized host name.
+ */
+public final class UrlHosts {
+
+    // Common multi-label public suffixes; everything else is treated as a single-label TLD
+    private static final Set<String> MULTI_LABEL_SUFFIXES = Set.of(
+            "co.uk", "org.uk", "ac.uk", "gov.uk", "me.uk", "net.uk",
+            "com.au", "net.au", "org.au", "edu.au", "gov.au",
+            "co.nz", "org.nz", "co.jp", "ne.jp", "or.jp",
+            "com.br", "net.br", "org.br", "com.cn", "net.cn", "org.cn",
+            "co.in", "net.in", "org.in", "co.za", "org.za",
+            "com.mx", "com.tr", "co.kr", "or.kr", "com.sg", "com.hk",
+            "com.ar", "com.pl", "com.ro", "co.il", "com.ua", "co.id");
+
+    private UrlHosts() {
+    }
+
+    /**
+     * Returns the registrable domain of a normalized host ("login.accounts.google.co.uk" -> "google.co.uk").
+     * IP addresses and single-label hosts are returned unchanged.
+     */
+    public static String registrableDomain(String host) {
+        if (host == null || isIpAddress(host)) {
+            return host;
+        }
+        String[] labels = host.split("\\.");
+        if (labels.length <= 2) {
+            return host;
+        }
+        String lastTwo = labels[labels.length - 2] + "." + labels[labels.length - 1];
+        int keep = MULTI_LABEL_SUFFIXES.contains(lastTwo) ? 3 : 2;
+        if (labels.length <= keep) {
+            return host;
+        }
+        return String.join(".", Arrays.copyOfRange(labels, labels.length - keep, labels.length));
+    }
+
+    public static boolean isIpAddress(String host) {
+        return host.indexOf(':') >= 0 || host.matches("\\d{1,3}(\\.\\d{1,3}){3}");
+    }
+
+    /**
+     * Extracts the lower-cased host of a URL ("https://www.GitHub.com:443/login" -> "github.com").
+     * Accepts values without a scheme. Returns null when no host can be found.
+     */
+    public static String normalizeHost(String url) {
+        if (url == null || url.isBlank()) {
+            return null;
+        }
+        String value = url.trim().toLowerCase(Locale.ROOT);
+        int scheme = value.indexOf("://");
+        if (scheme >= 0) {
+            value = value.substring(scheme + 3);
+        }
+        int end = value.length();
+        for (char c : new char[]{'/', '?', '#'}) {
+            int index = value.indexOf(c);
+            if (index >= 0 && index < end) {
+                end = index;
+            }
+        }
+        value = value.substring(0, end);
+        int at = value.lastIndexOf('@');
+        if (at >= 0) {
+            value = value.substring(at + 1);
+        }
+        int port = value.indexOf(':');
+        if (port >= 0) {
+            value = value.substring(0, port);
+        }
+        while (value.endsWith(".")) {
+            value = value.substring(0, value.length() - 1);
+        }
+        if (value.startsWith("www.")) {
+            value = value.substring(4);
+        }
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,99 @@
+package com.ppaw.passwordvault.search;
+
+import com.ppaw.passwordvault.cache.EpochLruCache;
+import com.ppaw.passwordvault.dto.VaultItemSummaryDTO;
+import com.ppaw.passwordvault.event.VaultItemChangedEvent;
+import com.ppaw.passwordvault.exception.ValidationException;
+import com.ppaw.passwordvault.repository.VaultItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * "Which vault items match this page?" lookups for autofill clients.
+ * Each user gets a DomainTrie built from the persisted url_host column on first use
+ * (index-only read of (user_id, url_host, id)), kept in sync after commits and bounded by an LRU.
+ */
+@Service
+public class VaultAutofillService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VaultAutofillService.class);
+
+    private static final int MAX_RESULTS = 50;
+
+    private final VaultItemRepository vaultItemRepository;
+    private final EpochLruCache<DomainTrie> tries;
+
+    public VaultAutofillService(VaultItemRepository vaultItemRepository,
+                                @Value("${vault.autofill.max-users:1000}") int maxUsers) {
+        this.vaultItemRepository = vaultItemRepository;
+        this.tries = new EpochLruCache<>(maxUsers);
+        logger.info("VaultAutofillService initialized (max cached users: {})", maxUsers);
+    }
+
+    @Transactional(readOnly = true)
+    public List<VaultItemSummaryDTO> findMatches(Long userId, String pageUrl) {
+        String host = UrlHosts.normalizeHost(pageUrl);
+        if (host == null) {
+            throw new ValidationException("A page URL with a host is required");
+        }
+        List<Long> ids = getOrBuild(userId).match(host);
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (ids.size() > MAX_RESULTS) {
+            ids = ids.subList(0, MAX_RESULTS);
+        }
+        Map<Long, VaultItemSummaryDTO> byId = new HashMap<>();
+        for (VaultItemSummaryDTO summary : vaultItemRepository.findSummariesByIds(userId, ids)) {
+            byId.put(summary.getId(), summary);
+        }
+        List<VaultItemSummaryDTO> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            VaultItemSummaryDTO summary = byId.get(id);
+            if (summary != null) {
+                result.add(summary);
+            }
+        }
+        logger.debug("Autofill for user id: {} and host: {} matched {} items", userId, host, result.size());
+        return result;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onVaultItemChanged(VaultItemChangedEvent event) {
+        DomainTrie trie = tries.changed(event.getUserId());
+        if (trie == null) {
+            return;
+        }
+        if (event.getOperation() == VaultItemChangedEvent.Operation.DELETED) {
+            trie.remove(event.getItemId());
+        } else {
+            trie.put(event.getItemId(), UrlHosts.normalizeHost(event.getUrl()));
+        }
+    }
+
+    private DomainTrie getOrBuild(Long userId) {
+        DomainTrie trie = tries.get(userId);
+        if (trie != null) {
+            return trie;
+        }
+        int epoch = tries.epoch(userId);
+        trie = new DomainTrie();
+        for (Object[] row : vaultItemRepository.findUrlHostsByUserId(userId)) {
+            trie.put((Long) row[0], (String) row[1]);
+        }
+        tries.putIfUnchanged(userId, epoch, trie);
+        logger.info("Built autofill domain trie for user id: {} ({} items)", userId, trie.size());
+        return trie;
+    }
+}
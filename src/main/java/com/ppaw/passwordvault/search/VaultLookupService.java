@@ -0,0 +1,113 @@
+package com.ppaw.passwordvault.search;
+
+import com.ppaw.passwordvault.crypto.BlindIndexService;
+import com.ppaw.passwordvault.dto.VaultItemSummaryDTO;
+import com.ppaw.passwordvault.exception.ValidationException;
+import com.ppaw.passwordvault.repository.VaultItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exact-match lookups (username, URL host, registrable domain, title) served by the blind index
+ * columns, so matching never needs the plaintext of the stored fields. Also backfills the columns
+ * of rows written before they existed.
+ */
+@Service
+public class VaultLookupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VaultLookupService.class);
+
+    private static final int MAX_RESULTS = 50;
+
+    private final VaultItemRepository vaultItemRepository;
+    private final BlindIndexService blindIndexService;
+    private final JdbcTemplate jdbcTemplate;
+    private final int backfillBatchSize;
+
+    public VaultLookupService(VaultItemRepository vaultItemRepository,
+                              BlindIndexService blindIndexService,
+                              JdbcTemplate jdbcTemplate,
+                              @Value("${vault.blind-index.backfill-batch-size:500}") int backfillBatchSize) {
+        this.vaultItemRepository = vaultItemRepository;
+        this.blindIndexService = blindIndexService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.backfillBatchSize = backfillBatchSize;
+    }
+
+    /**
+     * Items matching every given criterion. The domain criterion matches any host under the same
+     * registrable domain (a page URL may be passed); the others are exact after normalization.
+     */
+    @Transactional(readOnly = true)
+    public List<VaultItemSummaryDTO> lookup(Long userId, String username, String host, String domain, String title) {
+        String usernameBidx = blindIndexService.usernameIndex(userId, username);
+        String titleBidx = blindIndexService.titleIndex(userId, title);
+        String hostBidx = host != null ? blindIndexService.hostIndex(userId, requireHost(host)) : null;
+        String domainBidx = domain != null ? blindIndexService.domainIndex(userId, requireHost(domain)) : null;
+        if (usernameBidx == null && titleBidx == null && hostBidx == null && domainBidx == null) {
+            throw new ValidationException("At least one of username, host, domain or title is required");
+        }
+        return vaultItemRepository.findSummariesByBlindIndex(userId, titleBidx, usernameBidx, hostBidx, domainBidx, MAX_RESULTS);
+    }
+
+    private static String requireHost(String value) {
+        String host = UrlHosts.normalizeHost(value);
+        if (host == null) {
+            throw new ValidationException("Invalid host: " + value);
+        }
+        return host;
+    }
+
+    /**
+     * Fills the blind index columns of rows that predate them, in id-ordered batches.
+     * Each batch is its own statement pair, so a restart simply resumes with the remaining rows.
+     * A row is only written while still unindexed: a create or update committed after the batch was read
+     * already carries indexes of its new values, which must not be replaced by those of the old ones.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillBlindIndexes() {
+        long afterId = 0;
+        int updated = 0;
+        try {
+            while (true) {
+                List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                        "SELECT id, user_id, title, username, url_host FROM vault_schema.vault_items " +
+                        "WHERE title_bidx IS NULL AND id > ? ORDER BY id LIMIT ?", afterId, backfillBatchSize);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                List<Object[]> batch = new ArrayList<>(rows.size());
+                for (Map<String, Object> row : rows) {
+                    Long userId = ((Number) row.get("user_id")).longValue();
+                    String urlHost = (String) row.get("url_host");
+                    afterId = ((Number) row.get("id")).longValue();
+                    batch.add(new Object[] {
+                            blindIndexService.titleIndex(userId, (String) row.get("title")),
+                            blindIndexService.usernameIndex(userId, (String) row.get("username")),
+                            blindIndexService.hostIndex(userId, urlHost),
+                            blindIndexService.domainIndex(userId, urlHost),
+                            afterId
+                    });
+                }
+                jdbcTemplate.batchUpdate("UPDATE vault_schema.vault_items SET title_bidx = ?, username_bidx = ?, " +
+                        "url_host_bidx = ?, url_domain_bidx = ? WHERE id = ? AND title_bidx IS NULL", batch);
+                updated += batch.size();
+            }
+            if (updated > 0) {
+                logger.info("Blind index backfill completed for {} vault items", updated);
+            }
+        } catch (Exception e) {
+            logger.error("Blind index backfill stopped after {} vault items: {}", updated, e.getMessage(), e);
+        }
+    }
+}
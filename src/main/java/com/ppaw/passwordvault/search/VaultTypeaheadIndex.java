@@ -0,0 +1,176 @@
+package com.ppaw.passwordvault.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory prefix index over the vault of a single user.
+ * Every word of the title, the username (and its local part) and the URL host labels
+ * are stored as tokens in a sorted map, so a prefix lookup is a range scan on the map.
+ */
+public class VaultTypeaheadIndex {
+
+    // Field weights used for ranking (title matches first)
+    private static final int WEIGHT_TITLE = 3;
+    private static final int WEIGHT_HOST = 2;
+    private static final int WEIGHT_USERNAME = 1;
+
+    private static class ItemEntry {
+        private final Map<String, Integer> tokens; // token -> best field weight
+        private final String title;
+
+        ItemEntry(Map<String, Integer> tokens, String title) {
+            this.tokens = tokens;
+            this.title = title;
+        }
+    }
+
+    private final NavigableMap<String, Set<Long>> tokenIndex = new TreeMap<>();
+    private final Map<Long, ItemEntry> items = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(Long itemId, String title, String username, String url) {
+        Map<String, Integer> tokens = new HashMap<>();
+        addTokens(tokens, title, WEIGHT_TITLE);
+        if (username != null && !username.isBlank()) {
+            tokens.merge(username.trim().toLowerCase(Locale.ROOT), WEIGHT_USERNAME, Math::max);
+            addTokens(tokens, username, WEIGHT_USERNAME);
+        }
+        String host = UrlHosts.normalizeHost(url);
+        if (host != null) {
+            tokens.merge(host, WEIGHT_HOST, Math::max);
+            addTokens(tokens, host, WEIGHT_HOST);
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(itemId);
+            items.put(itemId, new ItemEntry(tokens, title != null ? title.toLowerCase(Locale.ROOT) : ""));
+            for (String token : tokens.keySet()) {
+                tokenIndex.computeIfAbsent(token, t -> new HashSet<>()).add(itemId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} item ids whose tokens start with every word of the query,
+     * best matches first.
+     */
+    public List<Long> search(String query, int limit) {
+        String[] words = query.toLowerCase(Locale.ROOT).trim().split("[\\s]+");
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> scores = null;
+            for (String word : words) {
+                if (word.isEmpty()) {
+                    continue;
+                }
+                Map<Long, Integer> wordScores = new HashMap<>();
+                for (Map.Entry<String, Set<Long>> entry : tokenIndex.subMap(word, true, word + Character.MAX_VALUE, true).entrySet()) {
+                    boolean exact = entry.getKey().length() == word.length();
+                    for (Long itemId : entry.getValue()) {
+                        int score = items.get(itemId).tokens.get(entry.getKey()) * 2 + (exact ? 1 : 0);
+                        wordScores.merge(itemId, score, Math::max);
+                    }
+                }
+                if (scores == null) {
+                    scores = wordScores;
+                } else {
+                    // Every word must match: keep the intersection and add up the scores
+                    Map<Long, Integer> previous = scores;
+                    scores = new HashMap<>();
+                    for (Map.Entry<Long, Integer> entry : wordScores.entrySet()) {
+                        Integer previousScore = previous.get(entry.getKey());
+                        if (previousScore != null) {
+                            scores.put(entry.getKey(), previousScore + entry.getValue());
+                        }
+                    }
+                }
+                if (scores.isEmpty()) {
+                    return Collections.emptyList();
+                }
+            }
+            return scores == null ? Collections.emptyList() : topK(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return items.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Long> topK(Map<Long, Integer> scores, int limit) {
+        // Min-heap of size k: worst candidate on top (lower score, then later title)
+        PriorityQueue<Map.Entry<Long, Integer>> heap = new PriorityQueue<>(limit + 1, (a, b) -> {
+            int byScore = Integer.compare(a.getValue(), b.getValue());
+            return byScore != 0 ? byScore : items.get(b.getKey()).title.compareTo(items.get(a.getKey()).title);
+        });
+        for (Map.Entry<Long, Integer> entry : scores.entrySet()) {
+            heap.offer(entry);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<Long> result = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            result.add(heap.poll().getKey());
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    private void removeLocked(Long itemId) {
+        ItemEntry previous = items.remove(itemId);
+        if (previous == null) {
+            return;
+        }
+        for (String token : previous.tokens.keySet()) {
+            Set<Long> ids = tokenIndex.get(token);
+            if (ids != null) {
+                ids.remove(itemId);
+                if (ids.isEmpty()) {
+                    tokenIndex.remove(token);
+                }
+            }
+        }
+    }
+
+    private static void addTokens(Map<String, Integer> tokens, String text, int weight) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.merge(token, weight, Math::max);
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.ppaw.passwordvault.search;
+
+import com.ppaw.passwordvault.cache.EpochLruCache;
+import com.ppaw.passwordvault.dto.VaultItemSummaryDTO;
+import com.ppaw.passwordvault.event.VaultItemChangedEvent;
+import com.ppaw.passwordvault.repository.VaultItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Search-as-you-type over a user's vault, served from a per-user in-memory index.
+ * Indexes are built lazily on the first lookup, updated incrementally after each committed
+ * VaultItemService mutation, and bounded by an LRU over users.
+ */
+@Service
+public class VaultTypeaheadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VaultTypeaheadService.class);
+
+    private static final int MAX_LIMIT = 50;
+
+    private final VaultItemRepository vaultItemRepository;
+    // A build that overlapped a change is returned but not cached
+    private final EpochLruCache<VaultTypeaheadIndex> indexes;
+
+    public VaultTypeaheadService(VaultItemRepository vaultItemRepository,
+                                 @Value("${vault.typeahead.max-users:1000}") int maxUsers) {
+        this.vaultItemRepository = vaultItemRepository;
+        this.indexes = new EpochLruCache<>(maxUsers);
+        logger.info("VaultTypeaheadService initialized (max cached users: {})", maxUsers);
+    }
+
+    /**
+     * Returns the ids of the best matching items, best first.
+     */
+    @Transactional(readOnly = true)
+    public List<Long> lookup(Long userId, String query, int limit) {
+        if (query == null || query.isBlank()) {
+            return Collections.emptyList();
+        }
+        return getOrBuild(userId).search(query, Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+
+    /**
+     * Looks up the best matches and fills them from a metadata projection, keeping the ranking.
+     */
+    @Transactional(readOnly = true)
+    public List<VaultItemSummaryDTO> search(Long userId, String query, int limit) {
+        List<Long> ids = lookup(userId, query, limit);
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, VaultItemSummaryDTO> byId = new HashMap<>();
+        for (VaultItemSummaryDTO summary : vaultItemRepository.findSummariesByIds(userId, ids)) {
+            byId.put(summary.getId(), summary);
+        }
+        List<VaultItemSummaryDTO> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            VaultItemSummaryDTO summary = byId.get(id);
+            if (summary != null) {
+                result.add(summary);
+            }
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onVaultItemChanged(VaultItemChangedEvent event) {
+        VaultTypeaheadIndex index = indexes.changed(event.getUserId());
+        if (index == null) {
+            return; // built from the database on the next lookup
+        }
+        if (event.getOperation() == VaultItemChangedEvent.Operation.DELETED) {
+            index.remove(event.getItemId());
+        } else {
+            index.put(event.getItemId(), event.getTitle(), event.getUsername(), event.getUrl());
+        }
+    }
+
+    private VaultTypeaheadIndex getOrBuild(Long userId) {
+        VaultTypeaheadIndex index = indexes.get(userId);
+        if (index != null) {
+            return index;
+        }
+        int epoch = indexes.epoch(userId);
+        long start = System.nanoTime();
+        index = new VaultTypeaheadIndex();
+        for (Object[] row : vaultItemRepository.findTypeaheadRowsByUserId(userId)) {
+            index.put((Long) row[0], (String) row[1], (String) row[2], (String) row[3]);
+        }
+        indexes.putIfUnchanged(userId, epoch, index);
+        logger.info("Built typeahead index for user id: {} ({} items, {} ms)",
+                userId, index.size(), (System.nanoTime() - start) / 1_000_000);
+        return index;
+    }
+}
@@ -0,0 +1,158 @@
+package com.ppaw.passwordvault.service;
+
+import com.ppaw.passwordvault.model.PlanLimits;
+import com.ppaw.passwordvault.model.ServicePlan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Background trimming of password_history after a plan's maxHistoryVersions went down (or a user
+ * moved to such a plan). Rows above the cap otherwise stay until the item's password changes again.
+ *
+ * A lowered plan limit is requested by marking the single password_history_compaction row pending.
+ * Each scheduled run processes one batch of users (keyset on users.id) with a set-based delete of at
+ * most max-rows-per-batch rows, and stores the cursor in the same transaction, so a restart resumes
+ * where the last committed batch ended. A single user moving to a smaller plan is queued in
+ * password_history_compaction_users instead; queued users are handled before the walk, within the
+ * same row budget. Row locks (SKIP LOCKED) keep several instances from working on the same batch.
+ */
+@Service
+public class PasswordHistoryCompactor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHistoryCompactor.class);
+
+    // History rows beyond the current plan cap, newest first per item (idx_password_history_item_recent)
+    private static final String DELETE_EXCESS_SQL =
+            "WITH excess AS (" +
+            "SELECT r.id FROM (" +
+            "SELECT h.id, pl.max_history_versions AS cap, " +
+            "row_number() OVER (PARTITION BY h.vault_item_id ORDER BY h.created_at DESC, h.id DESC) AS rn " +
+            "FROM vault_schema.users u " +
+            "JOIN vault_schema.plan_limits pl ON pl.plan_id = u.service_plan_id " +
+            "JOIN vault_schema.vault_items v ON v.user_id = u.id " +
+            "JOIN vault_schema.password_history h ON h.vault_item_id = v.id " +
+            "WHERE u.id > ? AND u.id <= ?) r " +
+            "WHERE r.rn > r.cap LIMIT ?) " +
+            "DELETE FROM vault_schema.password_history h USING excess e WHERE h.id = e.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchUsers;
+    private final int maxRowsPerBatch;
+
+    public PasswordHistoryCompactor(JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${vault.history-compaction.batch-users:200}") int batchUsers,
+                                    @Value("${vault.history-compaction.max-rows-per-batch:5000}") int maxRowsPerBatch) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchUsers = batchUsers;
+        this.maxRowsPerBatch = maxRowsPerBatch;
+    }
+
+    /**
+     * Schedules a walk over all users. Runs in the caller's transaction, so the request is only
+     * visible once the lowered limit is committed.
+     */
+    public void requestCompaction() {
+        jdbcTemplate.update("UPDATE vault_schema.password_history_compaction SET cursor_user_id = 0, " +
+                "pending = TRUE, requested_at = CURRENT_TIMESTAMP, completed_at = NULL WHERE id = 1");
+        logger.info("Password history compaction requested for all users");
+    }
+
+    /**
+     * Queues the user for compaction if the new plan keeps fewer history versions than the old one.
+     * Runs in the caller's transaction, like requestCompaction().
+     */
+    public void requestCompactionOnPlanChange(Long userId, ServicePlan oldPlan, ServicePlan newPlan) {
+        if (historyCap(newPlan) >= historyCap(oldPlan)) {
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO vault_schema.password_history_compaction_users (user_id) VALUES (?) " +
+                "ON CONFLICT (user_id) DO UPDATE SET requested_at = CURRENT_TIMESTAMP", userId);
+        logger.info("Password history compaction requested for user id: {}", userId);
+    }
+
+    // A plan without limits is treated as uncapped: nothing to trim when moving to it
+    private static int historyCap(ServicePlan plan) {
+        PlanLimits limits = plan != null ? plan.getPlanLimits() : null;
+        if (limits == null || limits.getMaxHistoryVersions() == null) {
+            return Integer.MAX_VALUE;
+        }
+        return limits.getMaxHistoryVersions();
+    }
+
+    /**
+     * One batch per run: max-rows-per-batch rows per fixed-delay-ms is the rate limit.
+     */
+    @Scheduled(fixedDelayString = "${vault.history-compaction.fixed-delay-ms:10000}")
+    public void compactNextBatch() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> runBatch());
+        } catch (Exception e) {
+            logger.error("Password history compaction batch failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void runBatch() {
+        int budget = maxRowsPerBatch - compactQueuedUsers();
+        if (budget <= 0) {
+            return;
+        }
+
+        List<Long> cursors = jdbcTemplate.queryForList("SELECT cursor_user_id FROM vault_schema.password_history_compaction " +
+                "WHERE id = 1 AND pending FOR UPDATE SKIP LOCKED", Long.class);
+        if (cursors.isEmpty()) {
+            return; // Nothing requested, or another instance holds the batch
+        }
+        long cursor = cursors.get(0);
+        Long upperUserId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM (SELECT id FROM vault_schema.users " +
+                "WHERE id > ? ORDER BY id LIMIT ?) AS batch", Long.class, cursor, batchUsers);
+        if (upperUserId == null) {
+            jdbcTemplate.update("UPDATE vault_schema.password_history_compaction " +
+                    "SET pending = FALSE, completed_at = CURRENT_TIMESTAMP WHERE id = 1");
+            logger.info("Password history compaction completed");
+            return;
+        }
+
+        int deleted = jdbcTemplate.update(DELETE_EXCESS_SQL, cursor, upperUserId, budget);
+        // A full batch may have left rows behind in this range: stay on it for the next run
+        long nextCursor = deleted < budget ? upperUserId : cursor;
+        jdbcTemplate.update("UPDATE vault_schema.password_history_compaction " +
+                "SET cursor_user_id = ?, deleted_rows = deleted_rows + ? WHERE id = 1", nextCursor, deleted);
+        if (deleted > 0) {
+            logger.debug("Password history compaction deleted {} rows for user ids ({}, {}]", deleted, cursor, upperUserId);
+        }
+    }
+
+    /**
+     * Trims the history of queued users, oldest request first, and returns the number of rows deleted.
+     * A user leaves the queue once a delete for them came in under the remaining budget.
+     */
+    private int compactQueuedUsers() {
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT user_id FROM vault_schema.password_history_compaction_users " +
+                "ORDER BY requested_at LIMIT ? FOR UPDATE SKIP LOCKED", Long.class, batchUsers);
+        int deleted = 0;
+        for (Long userId : userIds) {
+            int budget = maxRowsPerBatch - deleted;
+            int userDeleted = jdbcTemplate.update(DELETE_EXCESS_SQL, userId - 1, userId, budget);
+            deleted += userDeleted;
+            if (userDeleted == budget) {
+                break; // Budget used up; the user stays queued for the next run
+            }
+            jdbcTemplate.update("DELETE FROM vault_schema.password_history_compaction_users WHERE user_id = ?", userId);
+        }
+        if (deleted > 0) {
+            logger.debug("Password history compaction deleted {} rows for queued users", deleted);
+        }
+        return deleted;
+    }
+}
@@ -32,6 +32,7 @@ public class ServicePlanAdminService {
     private final ServicePlanRepository servicePlanRepository;
     private final PlanLimitsRepository planLimitsRepository;
     private final CacheService cacheService;
+    private final PasswordHistoryCompactor passwordHistoryCompactor;
 
     public List<ServicePlanAdminViewModel> getAllServicePlans() {
         logger.info("Getting all service plans for admin panel");
@@ -214,6 +215,10 @@ public class ServicePlanAdminService {
             }
             if (viewModel.getMaxHistoryVersions() != null && !viewModel.getMaxHistoryVersions().equals(limits.getMaxHistoryVersions())) {
                 logger.debug("Updating maxHistoryVersions for plan id: {} from {} to {}", id, limits.getMaxHistoryVersions(), viewModel.getMaxHistoryVersions());
+                if (viewModel.getMaxHistoryVersions() < limits.getMaxHistoryVersions()) {
+                    // Existing history above the new cap is trimmed in the background
+                    passwordHistoryCompactor.requestCompaction();
+                }
                 limits.setMaxHistoryVersions(viewModel.getMaxHistoryVersions());
                 limitsChanged = true;
             }
@@ -32,6 +32,7 @@ public class UserAdminService {
 
     private final UserRepository userRepository;
     private final ServicePlanRepository servicePlanRepository;
+    private final PasswordHistoryCompactor passwordHistoryCompactor;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
 
@@ -159,6 +160,8 @@ public class UserAdminService {
                             logger.error("Service plan not found in admin panel with id: {}", viewModel.getServicePlanId());
                             return new ResourceNotFoundException("ServicePlan", viewModel.getServicePlanId());
                         });
+                // A smaller history cap on the new plan is applied in the background
+                passwordHistoryCompactor.requestCompactionOnPlanChange(id, user.getServicePlan(), plan);
                 user.setServicePlan(plan);
             }
 
@@ -35,6 +35,7 @@ public class UserService {
     private final ServicePlanService servicePlanService;
     private final AuditLogService auditLogService;
     private final TokenService tokenService;
+    private final PasswordHistoryCompactor passwordHistoryCompactor;
 
     public List<UserDTO> getAllUsers() {
         logger.info("Getting all users (excluding deleted)");
@@ -155,6 +156,8 @@ public class UserService {
                             logger.error("Service plan not found with id: {}", updateDTO.getServicePlanId());
                             return new ResourceNotFoundException("ServicePlan", updateDTO.getServicePlanId());
                         });
+                // A smaller history cap on the new plan is applied in the background
+                passwordHistoryCompactor.requestCompactionOnPlanChange(id, user.getServicePlan(), plan);
                 user.setServicePlan(plan);
             }
 
@@ -0,0 +1,234 @@
+package com.ppaw.passwordvault.service;
+
+import com.ppaw.passwordvault.dto.VaultChangesDTO;
+import com.ppaw.passwordvault.dto.VaultItemChangeDTO;
+import com.ppaw.passwordvault.dto.VaultItemDTO;
+import com.ppaw.passwordvault.event.VaultItemChangedEvent;
+import com.ppaw.passwordvault.model.VaultItem;
+import com.ppaw.passwordvault.model.VaultItemChange;
+import com.ppaw.passwordvault.repository.VaultItemChangeRepository;
+import com.ppaw.passwordvault.repository.VaultItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Change journal for delta sync (vault_item_changes).
+ *
+ * Entries must be written after VaultVersionService.bump() in the same transaction: the bump locks the
+ * users row, so for a given user seq values are assigned in commit order and a reader never skips a
+ * change that commits later with a lower seq.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class VaultChangeJournalService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VaultChangeJournalService.class);
+
+    private static final int DEFAULT_LIMIT = 500;
+    private static final int MAX_LIMIT = 1000;
+
+    private static final String INSERT_CHANGE_SQL = "INSERT INTO vault_schema.vault_item_changes " +
+            "(user_id, vault_item_id, operation, item_version, changed_fields) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final VaultItemChangeRepository vaultItemChangeRepository;
+    private final VaultItemRepository vaultItemRepository;
+
+    @Value("${vault.changes.retention-days:30}")
+    private int retentionDays;
+
+    /**
+     * @param itemVersion   VaultItem.version after the change (null for deletes)
+     * @param changedFields fields touched by an update; null means all fields
+     */
+    public void record(Long userId, Long itemId, VaultItemChangedEvent.Operation operation,
+                       Long itemVersion, Collection<String> changedFields) {
+        jdbcTemplate.update(INSERT_CHANGE_SQL, userId, itemId, operation.name(), itemVersion, joinFields(changedFields));
+    }
+
+    public void recordCreated(Long userId, Collection<VaultItem> items) {
+        recordAll(userId, VaultItemChangedEvent.Operation.CREATED, items, Map.of());
+    }
+
+    public void recordUpdated(Long userId, Collection<VaultItem> items, Map<Long, Set<String>> changedFieldsByItem) {
+        recordAll(userId, VaultItemChangedEvent.Operation.UPDATED, items, changedFieldsByItem);
+    }
+
+    public void recordDeleted(Long userId, Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = itemIds.stream()
+                .map(itemId -> new Object[]{userId, itemId, VaultItemChangedEvent.Operation.DELETED.name(), null, null})
+                .collect(Collectors.toList());
+        jdbcTemplate.batchUpdate(INSERT_CHANGE_SQL, rows);
+    }
+
+    /**
+     * Fields changed by updates that produced versions in (fromVersion, toVersion].
+     * Returns null when the journal does not cover every one of those versions (pruned or older than V22);
+     * callers must then assume that every field changed.
+     */
+    @Transactional(readOnly = true)
+    public Set<String> getChangedFieldsBetween(Long itemId, long fromVersion, long toVersion) {
+        if (toVersion <= fromVersion) {
+            return Set.of();
+        }
+        // Several rows may share a version (no-op updates journaled before they were skipped): union them
+        Set<Long> versions = new HashSet<>();
+        Set<String> fields = new HashSet<>();
+        boolean[] allFields = {false};
+        jdbcTemplate.query("SELECT item_version, changed_fields FROM vault_schema.vault_item_changes " +
+                        "WHERE vault_item_id = ? AND operation = 'UPDATED' AND item_version > ? AND item_version <= ?",
+                rs -> {
+                    versions.add(rs.getLong(1));
+                    String changed = rs.getString(2);
+                    if (changed == null) {
+                        allFields[0] = true;
+                    } else if (!changed.isEmpty()) {
+                        fields.addAll(Arrays.asList(changed.split(",")));
+                    }
+                }, itemId, fromVersion, toVersion);
+        if (allFields[0] || versions.size() != toVersion - fromVersion) {
+            return null;
+        }
+        return fields;
+    }
+
+    private void recordAll(Long userId, VaultItemChangedEvent.Operation operation, Collection<VaultItem> items,
+                           Map<Long, Set<String>> changedFieldsByItem) {
+        if (items.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = items.stream()
+                .map(item -> new Object[]{userId, item.getId(), operation.name(), item.getVersion(),
+                        joinFields(changedFieldsByItem.get(item.getId()))})
+                .collect(Collectors.toList());
+        jdbcTemplate.batchUpdate(INSERT_CHANGE_SQL, rows);
+    }
+
+    private static String joinFields(Collection<String> fields) {
+        return fields == null ? null : String.join(",", new TreeSet<>(fields));
+    }
+
+    /**
+     * Changes after the client's last-seen seq, oldest first. Several changes to the same item inside
+     * one page collapse to the latest; deleted items are returned as tombstones (item = null).
+     */
+    @Transactional(readOnly = true)
+    public VaultChangesDTO getChangesSince(Long userId, long since, Integer limit) {
+        int pageLimit = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        long prunedThrough = getPrunedThroughSeq();
+        if (since < prunedThrough) {
+            logger.info("Client of user id: {} is behind the change retention window (since {} < {}), full resync required",
+                    userId, since, prunedThrough);
+            // Never below the watermark: a user whose entries were all pruned would otherwise get 0 back
+            // and be sent to a full resync again on every following call
+            return VaultChangesDTO.builder()
+                    .since(since)
+                    .latestSeq(Math.max(vaultItemChangeRepository.findLatestSeq(userId), prunedThrough))
+                    .hasMore(false)
+                    .fullResync(true)
+                    .changes(List.of())
+                    .build();
+        }
+
+        List<VaultItemChange> rows = vaultItemChangeRepository.findChangesAfter(userId, since,
+                PageRequest.of(0, pageLimit + 1));
+        boolean hasMore = rows.size() > pageLimit;
+        if (hasMore) {
+            rows = rows.subList(0, pageLimit);
+        }
+
+        // Keep only the latest change per item, ordered by that change's seq
+        Map<Long, VaultItemChange> latestByItem = new LinkedHashMap<>();
+        for (VaultItemChange row : rows) {
+            latestByItem.remove(row.getVaultItemId());
+            latestByItem.put(row.getVaultItemId(), row);
+        }
+
+        List<Long> liveIds = latestByItem.values().stream()
+                .filter(change -> change.getOperation() != VaultItemChangedEvent.Operation.DELETED)
+                .map(VaultItemChange::getVaultItemId)
+                .collect(Collectors.toList());
+        Map<Long, VaultItemDTO> items = liveIds.isEmpty() ? Map.of()
+                : vaultItemRepository.findDTOsByUserIdAndIdIn(userId, liveIds).stream()
+                        .collect(Collectors.toMap(VaultItemDTO::getId, Function.identity()));
+
+        List<VaultItemChangeDTO> changes = new ArrayList<>(latestByItem.size());
+        for (VaultItemChange change : latestByItem.values()) {
+            VaultItemDTO item = null;
+            if (change.getOperation() != VaultItemChangedEvent.Operation.DELETED) {
+                item = items.get(change.getVaultItemId());
+                if (item == null) {
+                    continue; // Deleted after this page; its tombstone follows in a later page
+                }
+            }
+            changes.add(VaultItemChangeDTO.builder()
+                    .seq(change.getSeq())
+                    .itemId(change.getVaultItemId())
+                    .operation(change.getOperation().name())
+                    .changedAt(change.getChangedAt())
+                    .item(item)
+                    .build());
+        }
+
+        long latestSeq = rows.isEmpty() ? since : rows.get(rows.size() - 1).getSeq();
+        return VaultChangesDTO.builder()
+                .since(since)
+                .latestSeq(latestSeq)
+                .hasMore(hasMore)
+                .fullResync(false)
+                .changes(changes)
+                .build();
+    }
+
+    /**
+     * Drops journal entries older than the retention window and advances the watermark,
+     * so clients that last synced before it are told to resync.
+     */
+    @Scheduled(cron = "${vault.changes.prune-cron:0 30 3 * * *}")
+    public void pruneExpiredChanges() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(retentionDays));
+        Long prunedThrough = jdbcTemplate.queryForObject(
+                "SELECT MAX(seq) FROM vault_schema.vault_item_changes WHERE changed_at < ?", Long.class, cutoff);
+        if (prunedThrough == null) {
+            return;
+        }
+        // Same transaction: the watermark and the deletion become visible together
+        jdbcTemplate.update("UPDATE vault_schema.vault_change_retention " +
+                "SET pruned_through_seq = GREATEST(pruned_through_seq, ?), pruned_at = CURRENT_TIMESTAMP WHERE id = 1",
+                prunedThrough);
+        int deleted = jdbcTemplate.update("DELETE FROM vault_schema.vault_item_changes WHERE seq <= ?", prunedThrough);
+        logger.info("Pruned {} vault change journal entries (through seq {})", deleted, prunedThrough);
+    }
+
+    private long getPrunedThroughSeq() {
+        Long seq = jdbcTemplate.queryForObject(
+                "SELECT pruned_through_seq FROM vault_schema.vault_change_retention WHERE id = 1", Long.class);
+        return seq != null ? seq : 0L;
+    }
+}
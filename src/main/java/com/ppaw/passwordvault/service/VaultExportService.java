@@ -0,0 +1,85 @@
+package com.ppaw.passwordvault.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ppaw.passwordvault.dto.VaultItemDTO;
+import com.ppaw.passwordvault.repository.VaultItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Streams a user's vault export as JSON straight to an output stream.
+ *
+ * Items are read through a server-side cursor (see VaultItemRepository.streamDTOsByUserId) and written one at
+ * a time, so memory use does not depend on the vault size. The rows are DTO projections, so nothing
+ * accumulates in the persistence context while the cursor is open. itemCount is written after the items,
+ * once it is known.
+ */
+@Service
+@RequiredArgsConstructor
+public class VaultExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VaultExportService.class);
+
+    private final VaultItemRepository vaultItemRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * All items of the user with their notes, for the non-streamed JSON export (GET /api/vault/export).
+     * The list projections leave notes out; an export must not.
+     */
+    @Transactional(readOnly = true)
+    public List<VaultItemDTO> getExportItems(Long userId) {
+        try (Stream<VaultItemDTO> items = vaultItemRepository.streamDTOsByUserId(userId)) {
+            return items.collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Writes the export document to out. The stream is flushed but not closed.
+     * Must run in a transaction: PostgreSQL only uses a cursor (fetch size) when autocommit is off.
+     */
+    @Transactional(readOnly = true)
+    public int exportVault(Long userId, String username, OutputStream out) throws IOException {
+        int itemCount = 0;
+        try (JsonGenerator generator = objectMapper.createGenerator(out);
+             Stream<VaultItemDTO> items = vaultItemRepository.streamDTOsByUserId(userId)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // A failure mid-stream must leave visibly broken JSON, not a complete-looking truncated export
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            generator.useDefaultPrettyPrinter();
+
+            generator.writeStartObject();
+            generator.writeNumberField("userId", userId);
+            generator.writeStringField("username", username);
+            generator.writeStringField("exportDate", LocalDateTime.now().toString());
+
+            generator.writeArrayFieldStart("items");
+            Iterator<VaultItemDTO> iterator = items.iterator();
+            while (iterator.hasNext()) {
+                generator.writeObject(iterator.next());
+                itemCount++;
+            }
+            generator.writeEndArray();
+
+            generator.writeNumberField("itemCount", itemCount);
+            generator.writeEndObject();
+            generator.flush();
+        } catch (IOException e) {
+            logger.error("Error streaming vault export for user {} after {} items", userId, itemCount, e);
+            throw e;
+        }
+        return itemCount;
+    }
+}
@@ -0,0 +1,108 @@
+package com.ppaw.passwordvault.service;
+
+import com.ppaw.passwordvault.dto.VaultItemSummaryDTO;
+import com.ppaw.passwordvault.model.VaultItem;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Temporal versions of vault item metadata (vault_item_versions), for point-in-time ("as of") views.
+ *
+ * Each row covers valid = [from, to) with an open upper bound for the current version. Like the change
+ * journal, versions must be written after VaultVersionService.bump() in the same transaction, so writes
+ * for one user are serialized and ranges of an item never overlap (also enforced by an exclusion constraint).
+ * Secrets are not versioned here; password_history keeps the previous passwords.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class VaultItemHistoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VaultItemHistoryService.class);
+
+    // A version opened earlier in the same transaction would become an empty range: drop it instead
+    private static final String DROP_SAME_TX_VERSION_SQL = "DELETE FROM vault_schema.vault_item_versions " +
+            "WHERE vault_item_id = ? AND upper_inf(valid) AND lower(valid) = LOCALTIMESTAMP";
+
+    // Lower bounds are not always behind LOCALTIMESTAMP (V28 backfilled them from updated_at, set by the JVM
+    // clock): such a version is closed as an empty range instead of failing with upper < lower
+    private static final String CLOSE_VERSION_SQL = "UPDATE vault_schema.vault_item_versions " +
+            "SET valid = tsrange(lower(valid), GREATEST(lower(valid), LOCALTIMESTAMP), '[)') " +
+            "WHERE vault_item_id = ? AND upper_inf(valid)";
+
+    // Starts no earlier than the end of the item's last closed version, so ranges never overlap
+    private static final String OPEN_VERSION_SQL = "INSERT INTO vault_schema.vault_item_versions " +
+            "(user_id, vault_item_id, item_version, title, username, url, folder, tags, is_favorite, created_at, valid) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, tsrange(GREATEST(LOCALTIMESTAMP, " +
+            "(SELECT MAX(upper(valid)) FROM vault_schema.vault_item_versions WHERE vault_item_id = ?)), NULL, '[)'))";
+
+    // Same column order as the VaultItemSummaryDTO constructor; served by idx_vault_item_versions_user_valid
+    private static final String AS_OF_SQL = "SELECT vault_item_id, user_id, title, username, url, folder, tags, " +
+            "is_favorite, created_at, lower(valid) FROM vault_schema.vault_item_versions " +
+            "WHERE user_id = ? AND valid @> ?::timestamp ORDER BY title, vault_item_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Makes the current state of the given (created or updated) items their open version.
+     */
+    public void recordVersions(Long userId, Collection<VaultItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        closeVersions(items.stream().map(VaultItem::getId).collect(Collectors.toList()));
+        List<Object[]> rows = items.stream()
+                .map(item -> new Object[]{userId, item.getId(), item.getVersion(), item.getTitle(), item.getUsername(),
+                        item.getUrl(), item.getFolder(), item.getTags(), item.getIsFavorite(),
+                        Timestamp.valueOf(item.getCreatedAt()), item.getId()})
+                .collect(Collectors.toList());
+        jdbcTemplate.batchUpdate(OPEN_VERSION_SQL, rows);
+    }
+
+    /**
+     * Ends the open version of deleted items; their history stays queryable.
+     */
+    public void recordDeleted(Collection<Long> itemIds) {
+        if (!itemIds.isEmpty()) {
+            closeVersions(itemIds);
+        }
+    }
+
+    private void closeVersions(Collection<Long> itemIds) {
+        List<Object[]> ids = itemIds.stream().map(id -> new Object[]{id}).collect(Collectors.toList());
+        jdbcTemplate.batchUpdate(DROP_SAME_TX_VERSION_SQL, ids);
+        jdbcTemplate.batchUpdate(CLOSE_VERSION_SQL, ids);
+    }
+
+    /**
+     * The user's vault (metadata only) as it was at the given moment; updatedAt is the start of the
+     * version that was valid then.
+     */
+    @Transactional(readOnly = true)
+    public List<VaultItemSummaryDTO> getVaultAsOf(Long userId, LocalDateTime at) {
+        List<VaultItemSummaryDTO> items = jdbcTemplate.query(AS_OF_SQL, (rs, rowNum) -> new VaultItemSummaryDTO(
+                rs.getLong(1),
+                rs.getLong(2),
+                rs.getString(3),
+                rs.getString(4),
+                rs.getString(5),
+                rs.getString(6),
+                rs.getString(7),
+                rs.getBoolean(8),
+                rs.getTimestamp(9).toLocalDateTime(),
+                rs.getTimestamp(10).toLocalDateTime()
+        ), userId, Timestamp.valueOf(at));
+        logger.debug("Vault as of {} for user id: {} has {} items", at, userId, items.size());
+        return items;
+    }
+}
@@ -1,24 +1,54 @@
 package com.ppaw.passwordvault.service;
 
+import com.ppaw.passwordvault.crypto.BlindIndexService;
+import com.ppaw.passwordvault.crypto.EncryptedValue;
+import com.ppaw.passwordvault.crypto.VaultCryptoService;
+import com.ppaw.passwordvault.dto.ClientEncryptedSecretDTO;
+import com.ppaw.passwordvault.dto.PlanLimitsDTO;
+import com.ppaw.passwordvault.dto.VaultBulkRequestDTO;
+import com.ppaw.passwordvault.dto.VaultBulkResultDTO;
+import com.ppaw.passwordvault.dto.VaultBulkUpdateDTO;
 import com.ppaw.passwordvault.dto.VaultItemCreateDTO;
 import com.ppaw.passwordvault.dto.VaultItemDTO;
+import com.ppaw.passwordvault.dto.VaultItemPageDTO;
+import com.ppaw.passwordvault.dto.VaultItemSearchPageDTO;
+import com.ppaw.passwordvault.dto.VaultItemSecretDTO;
+import com.ppaw.passwordvault.dto.VaultItemSummaryDTO;
 import com.ppaw.passwordvault.dto.VaultItemUpdateDTO;
+import com.ppaw.passwordvault.event.VaultItemChangedEvent;
 import com.ppaw.passwordvault.exception.BusinessException;
+import com.ppaw.passwordvault.exception.ConflictException;
 import com.ppaw.passwordvault.exception.ResourceNotFoundException;
 import com.ppaw.passwordvault.exception.ValidationException;
-import com.ppaw.passwordvault.model.PasswordHistory;
+import com.ppaw.passwordvault.health.PasswordCheckService;
 import com.ppaw.passwordvault.model.User;
 import com.ppaw.passwordvault.model.VaultItem;
+import com.ppaw.passwordvault.model.VaultStorageMode;
 import com.ppaw.passwordvault.repository.PasswordHistoryRepository;
 import com.ppaw.passwordvault.repository.UserRepository;
+import com.ppaw.passwordvault.repository.VaultItemPageQuery;
 import com.ppaw.passwordvault.repository.VaultItemRepository;
+import com.ppaw.passwordvault.search.UrlHosts;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,18 +58,48 @@ public class VaultItemService {
 
     private static final Logger logger = LoggerFactory.getLogger(VaultItemService.class);
 
+    // Keyset pagination
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final char CURSOR_SEPARATOR = '|';
+
+    public static final int MAX_BULK_OPERATIONS = 1000;
+
+    // password_salt marker of passwords encrypted by the client (CLIENT storage mode)
+    public static final String CLIENT_ENCRYPTION_SCHEME = "client:v1";
+    private static final int CLIENT_CIPHERTEXT_OVERHEAD_BYTES = 256;
+    private static final int CLIENT_IV_MAX_BYTES = 64;
+
+    // Field names recorded in the change journal and reported on conflicts
+    private static final String FIELD_TITLE = "title";
+    private static final String FIELD_USERNAME = "username";
+    private static final String FIELD_PASSWORD = "password";
+    private static final String FIELD_URL = "url";
+    private static final String FIELD_NOTES = "notes";
+    private static final String FIELD_FOLDER = "folder";
+    private static final String FIELD_TAGS = "tags";
+    private static final String FIELD_IS_FAVORITE = "isFavorite";
+
     private final VaultItemRepository vaultItemRepository;
     private final UserRepository userRepository;
     private final ServicePlanService servicePlanService;
     private final AuditLogService auditLogService;
     private final PasswordHistoryRepository passwordHistoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final VaultVersionService vaultVersionService;
+    private final VaultChangeJournalService vaultChangeJournalService;
+    private final VaultItemHistoryService vaultItemHistoryService;
+    private final VaultTagService vaultTagService;
+    private final VaultSummaryService vaultSummaryService;
+    private final VaultCryptoService vaultCryptoService;
+    private final BlindIndexService blindIndexService;
+    private final PasswordCheckService passwordCheckService;
+    private final Validator validator;
 
     public List<VaultItemDTO> getAllVaultItems(Long userId) {
         logger.info("Getting all vault items for user id: {}", userId);
         try {
-            List<VaultItemDTO> items = vaultItemRepository.findByUserId(userId).stream()
-                    .map(this::toDTO)
-                    .collect(Collectors.toList());
+            List<VaultItemDTO> items = vaultItemRepository.findDTOsByUserId(userId);
             logger.info("Successfully retrieved {} vault items for user id: {}", items.size(), userId);
             return items;
         } catch (Exception e) {
@@ -48,22 +108,111 @@ public class VaultItemService {
         }
     }
 
+    /**
+     * Keyset-paginated, metadata-only listing. Cost depends on the page size, not on the vault size:
+     * each page is a single index range scan starting right after the cursor row.
+     */
+    @Transactional(readOnly = true)
+    public VaultItemPageDTO getVaultItemPage(Long userId, String cursor, Integer size, String sort,
+                                             String folder, Boolean favorite, List<String> tags) {
+        logger.debug("Getting vault item page for user id: {} (cursor: {}, size: {}, sort: {})", userId, cursor, size, sort);
+        try {
+            int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+            VaultItemPageQuery.Sort pageSort = parseSort(sort);
+
+            VaultItemPageQuery.VaultItemPageQueryBuilder query = VaultItemPageQuery.builder()
+                    .userId(userId)
+                    .sort(pageSort)
+                    .limit(pageSize + 1) // one extra row tells us whether there is a next page
+                    .folder(folder != null && !folder.isBlank() ? folder : null)
+                    .favorite(favorite)
+                    .tags(VaultTagService.normalizeFilter(tags));
+            if (cursor != null && !cursor.isBlank()) {
+                applyCursor(query, pageSort, cursor);
+            }
+
+            List<VaultItemSummaryDTO> rows = vaultItemRepository.findSummaryPage(query.build());
+            boolean hasMore = rows.size() > pageSize;
+            List<VaultItemSummaryDTO> items = hasMore ? rows.subList(0, pageSize) : rows;
+            String nextCursor = hasMore ? encodeCursor(pageSort, items.get(items.size() - 1)) : null;
+
+            logger.info("Successfully retrieved page of {} vault items for user id: {} (hasMore: {})", items.size(), userId, hasMore);
+            return VaultItemPageDTO.builder()
+                    .items(new ArrayList<>(items))
+                    .nextCursor(nextCursor)
+                    .hasMore(hasMore)
+                    .size(items.size())
+                    .build();
+        } catch (ValidationException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error on getting vault item page for user id: {}", userId, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Ranked search across title, username, url, tags and notes.
+     * Uses the full-text index first; when that finds nothing on the first page (partial words,
+     * fragments of URLs) it falls back to a trigram substring match. Clients pass the returned
+     * matchMode back as {@code mode} when asking for the next pages.
+     */
+    @Transactional(readOnly = true)
+    public VaultItemSearchPageDTO searchVaultItems(Long userId, String text, String mode, Integer page, Integer size) {
+        logger.debug("Searching vault items for user id: {} (query: {}, page: {}, size: {})", userId, text, page, size);
+        if (text == null || text.isBlank()) {
+            throw new ValidationException("Search query is required");
+        }
+        try {
+            String query = text.trim();
+            int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+            int pageNumber = page == null ? 0 : Math.max(0, page);
+            int offset = pageNumber * pageSize;
+
+            // Later pages keep the mode returned with the first page
+            String matchMode = "substring".equalsIgnoreCase(mode) ? "substring" : "fulltext";
+            List<VaultItemSummaryDTO> rows = matchMode.equals("fulltext")
+                    ? vaultItemRepository.searchFullText(userId, query, offset, pageSize + 1)
+                    : vaultItemRepository.searchSubstring(userId, query, offset, pageSize + 1);
+            if (rows.isEmpty() && pageNumber == 0 && matchMode.equals("fulltext")) {
+                matchMode = "substring";
+                rows = vaultItemRepository.searchSubstring(userId, query, offset, pageSize + 1);
+            }
+
+            boolean hasMore = rows.size() > pageSize;
+            List<VaultItemSummaryDTO> items = hasMore ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+            logger.info("Search for user id: {} returned {} items ({} match)", userId, items.size(), matchMode);
+            return VaultItemSearchPageDTO.builder()
+                    .query(query)
+                    .matchMode(matchMode)
+                    .items(items)
+                    .page(pageNumber)
+                    .size(items.size())
+                    .hasMore(hasMore)
+                    .build();
+        } catch (Exception e) {
+            logger.error("Error on searching vault items for user id: {}", userId, e);
+            throw e;
+        }
+    }
+
     public VaultItemDTO getVaultItemById(Long id, Long userId) {
         logger.debug("Getting vault item by id: {} for user id: {}", id, userId);
         try {
-            VaultItem item = vaultItemRepository.findById(id)
+            // Projection: metadata only; notes and the password come from GET /{id}/secret
+            VaultItemDTO item = vaultItemRepository.findDTOById(id)
                     .orElseThrow(() -> {
                         logger.warn("Vault item not found with id: {}", id);
                         return new ResourceNotFoundException("VaultItem", id);
                     });
             
-            if (!item.getUser().getId().equals(userId)) {
+            if (!item.getUserId().equals(userId)) {
                 logger.warn("Vault item {} does not belong to user {}", id, userId);
                 throw new ValidationException("Vault item does not belong to this user");
             }
             
             logger.info("Successfully retrieved vault item: {} (id: {}) for user id: {}", item.getTitle(), id, userId);
-            return toDTO(item);
+            return item;
         } catch (ValidationException | ResourceNotFoundException e) {
             throw e;
         } catch (Exception e) {
@@ -72,10 +221,51 @@ public class VaultItemService {
         }
     }
 
+    /**
+     * The only read path that loads the secret columns (one extra select for the "secret" lazy group).
+     */
+    public VaultItemSecretDTO revealSecret(Long id, Long userId) {
+        logger.info("Revealing secret of vault item with id: {} for user id: {}", id, userId);
+        try {
+            VaultItem item = vaultItemRepository.findById(id)
+                    .orElseThrow(() -> {
+                        logger.warn("Vault item not found for reveal with id: {}", id);
+                        return new ResourceNotFoundException("VaultItem", id);
+                    });
+
+            if (!item.getUser().getId().equals(userId)) {
+                logger.warn("Vault item {} does not belong to user {} for reveal", id, userId);
+                throw new ValidationException("Vault item does not belong to this user");
+            }
+
+            VaultItemSecretDTO.VaultItemSecretDTOBuilder secret = VaultItemSecretDTO.builder()
+                    .id(item.getId())
+                    .notes(item.getNotes());
+            if (CLIENT_ENCRYPTION_SCHEME.equals(item.getPasswordSalt())) {
+                secret.encryptedPassword(ClientEncryptedSecretDTO.builder()
+                        .ciphertext(item.getEncryptedPassword())
+                        .iv(item.getPasswordIv())
+                        .build());
+            } else {
+                secret.password(vaultCryptoService.decrypt(userId, item.getEncryptedPassword(),
+                        item.getPasswordIv(), item.getPasswordSalt()));
+            }
+            auditLogService.logAction(userId, "REVEAL_VAULT_ITEM",
+                    "Revealed secret of vault item: " + item.getTitle(), null);
+            return secret.build();
+        } catch (ValidationException | ResourceNotFoundException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error on revealing secret of vault item with id: {} for user id: {}", id, userId, e);
+            throw e;
+        }
+    }
+
     public VaultItemDTO createVaultItem(Long userId, VaultItemCreateDTO createDTO) {
         logger.info("Creating new vault item for user id: {} with title: {}", userId, createDTO.getTitle());
         try {
-            User user = userRepository.findById(userId)
+            // Locked so the storage mode cannot change until the item is committed
+            User user = userRepository.findByIdForUpdate(userId)
                     .orElseThrow(() -> {
                         logger.error("User not found with id: {}", userId);
                         return new ResourceNotFoundException("User", userId);
@@ -91,41 +281,32 @@ public class VaultItemService {
             }
             
             // Validate max vault items limit
-            long itemCount = vaultItemRepository.findByUserId(userId).size();
+            long itemCount = vaultItemRepository.countByUserId(userId);
             if (itemCount >= limits.getMaxVaultItems()) {
                 logger.warn("Maximum vault items limit ({}) reached for user id: {}", limits.getMaxVaultItems(), userId);
                 throw new BusinessException(String.format("Maximum vault items limit (%d) reached for your plan. Please upgrade to add more items.", 
                         limits.getMaxVaultItems()));
             }
 
-            // Validate password length limit
-            if (createDTO.getPassword() != null && createDTO.getPassword().length() > limits.getMaxPasswordLength()) {
-                logger.warn("Password length exceeds maximum allowed ({}) for user id: {}", limits.getMaxPasswordLength(), userId);
-                throw new ValidationException(String.format("Password length exceeds maximum allowed (%d characters) for your plan", 
-                        limits.getMaxPasswordLength()));
-            }
-
-            VaultItem item = new VaultItem();
-            item.setUser(user);
-            item.setTitle(createDTO.getTitle());
-            item.setUsername(createDTO.getUsername());
-            item.setUrl(createDTO.getUrl());
-            item.setNotes(createDTO.getNotes());
-            item.setFolder(createDTO.getFolder());
-            item.setTags(createDTO.getTags());
-            item.setIsFavorite(createDTO.getIsFavorite() != null ? createDTO.getIsFavorite() : false);
-
-            // Simulare criptare (în producție folosești AES sau similar)
-            item.setEncryptedPassword("encrypted_" + createDTO.getPassword());
-            item.setPasswordIv("iv_" + System.currentTimeMillis());
-            item.setPasswordSalt("salt_" + System.currentTimeMillis());
+            // Validate password (or client ciphertext) against the storage mode and plan limits
+            validateSecret(user, createDTO.getPassword(), createDTO.getEncryptedPassword(), limits, true);
 
+            VaultItem item = newVaultItem(user, createDTO);
             VaultItem saved = vaultItemRepository.save(item);
+            vaultTagService.replaceTags(userId, saved.getId(), saved.getTags());
             logger.info("Vault item created successfully: {} (id: {}) for user id: {}", saved.getTitle(), saved.getId(), userId);
             auditLogService.logAction(userId, "CREATE_VAULT_ITEM", 
                     "Created vault item: " + saved.getTitle(), null);
+            long version = vaultVersionService.bump(userId);
+            vaultChangeJournalService.record(userId, saved.getId(), VaultItemChangedEvent.Operation.CREATED,
+                    saved.getVersion(), null);
+            vaultItemHistoryService.recordVersions(userId, List.of(saved));
+            vaultSummaryService.apply(userId, new VaultSummaryService.Delta().added(saved.getFolder(), saved.getIsFavorite()));
+            publishChange(VaultItemChangedEvent.Operation.CREATED, saved, version);
             
-            return toDTO(saved);
+            VaultItemDTO dto = toDTO(saved);
+            dto.setPasswordCheck(passwordCheckService.check(createDTO.getPassword()));
+            return dto;
         } catch (BusinessException | ValidationException | ResourceNotFoundException e) {
             throw e;
         } catch (Exception e) {
@@ -135,7 +316,17 @@ public class VaultItemService {
     }
 
     public VaultItemDTO updateVaultItem(Long id, Long userId, VaultItemUpdateDTO updateDTO) {
-        logger.info("Updating vault item with id: {} for user id: {}", id, userId);
+        return updateVaultItem(id, userId, updateDTO, null);
+    }
+
+    /**
+     * Updates an item that the client last saw at expectedVersion (null = no check, last write wins).
+     * If the item moved on since then, the update is merged when none of the fields it changes were
+     * changed concurrently; otherwise a ConflictException (409) is thrown. No row locks are taken:
+     * the @Version check on flush catches a race between this read and the write.
+     */
+    public VaultItemDTO updateVaultItem(Long id, Long userId, VaultItemUpdateDTO updateDTO, Long expectedVersion) {
+        logger.info("Updating vault item with id: {} for user id: {} (expected version: {})", id, userId, expectedVersion);
         try {
             VaultItem item = vaultItemRepository.findById(id)
                     .orElseThrow(() -> {
@@ -148,73 +339,42 @@ public class VaultItemService {
                 throw new ValidationException("Vault item does not belong to this user");
             }
 
-        // Get plan limits for password validation
-        var planDTO = servicePlanService.getServicePlanWithLimits(item.getUser().getServicePlan().getId());
-        var limits = planDTO.getLimits();
-        
-        boolean passwordChanged = false;
-        String oldEncryptedPassword = item.getEncryptedPassword();
-        String oldPasswordIv = item.getPasswordIv();
-        String oldPasswordSalt = item.getPasswordSalt();
+            // Get plan limits for password validation
+            var planDTO = servicePlanService.getServicePlanWithLimits(item.getUser().getServicePlan().getId());
+            var limits = planDTO.getLimits();
 
-        if (updateDTO.getTitle() != null) {
-            item.setTitle(updateDTO.getTitle());
-        }
-        if (updateDTO.getUsername() != null) {
-            item.setUsername(updateDTO.getUsername());
-        }
-        if (updateDTO.getPassword() != null && !updateDTO.getPassword().isEmpty()) {
-            // Validate password length limit
-            if (limits != null && updateDTO.getPassword().length() > limits.getMaxPasswordLength()) {
-                throw new ValidationException(String.format("Password length exceeds maximum allowed (%d characters) for your plan", 
-                        limits.getMaxPasswordLength()));
+            checkConcurrentEdit(item, updateDTO, expectedVersion);
+
+            VaultSummaryService.Delta summaryDelta = new VaultSummaryService.Delta().removed(item.getFolder(), item.getIsFavorite());
+            Set<String> changedFields = applyUpdate(item, updateDTO, limits);
+            boolean passwordChanged = changedFields.contains(FIELD_PASSWORD);
+            summaryDelta.added(item.getFolder(), item.getIsFavorite());
+
+            // Flush now so the new @Version value is known for the journal and the response
+            VaultItem updated = vaultItemRepository.saveAndFlush(item);
+            if (updateDTO.getTags() != null) {
+                vaultTagService.replaceTags(userId, id, updated.getTags());
             }
-            
-            // Save old password to history if plan allows history
-            if (limits != null && limits.getMaxHistoryVersions() > 0) {
-                PasswordHistory history = new PasswordHistory();
-                history.setVaultItem(item);
-                history.setEncryptedPassword(oldEncryptedPassword);
-                history.setPasswordIv(oldPasswordIv);
-                history.setPasswordSalt(oldPasswordSalt);
-                passwordHistoryRepository.save(history);
-                
-                // Limit history versions
-                Long historyCount = passwordHistoryRepository.countByVaultItemId(item.getId());
-                if (historyCount > limits.getMaxHistoryVersions()) {
-                    passwordHistoryRepository.deleteOldVersions(item.getId(), limits.getMaxHistoryVersions());
-                }
+            if (changedFields.isEmpty()) {
+                // No new item version: a journal row would repeat the previous item_version with no fields
+                logger.info("Vault item {} unchanged by update for user id: {}", id, userId);
+                return toDTO(updated);
             }
-            
-            passwordChanged = true;
-            item.setEncryptedPassword("encrypted_" + updateDTO.getPassword());
-            item.setPasswordIv("iv_" + System.currentTimeMillis());
-            item.setPasswordSalt("salt_" + System.currentTimeMillis());
-        }
-        if (updateDTO.getUrl() != null) {
-            item.setUrl(updateDTO.getUrl());
-        }
-        if (updateDTO.getNotes() != null) {
-            item.setNotes(updateDTO.getNotes());
-        }
-        if (updateDTO.getFolder() != null) {
-            item.setFolder(updateDTO.getFolder());
-        }
-        if (updateDTO.getTags() != null) {
-            item.setTags(updateDTO.getTags());
-        }
-        if (updateDTO.getIsFavorite() != null) {
-            item.setIsFavorite(updateDTO.getIsFavorite());
-        }
-
-            VaultItem updated = vaultItemRepository.save(item);
             logger.info("Vault item updated successfully: {} (id: {}) for user id: {} {}", 
                     updated.getTitle(), id, userId, passwordChanged ? "(password changed)" : "");
             auditLogService.logAction(userId, "UPDATE_VAULT_ITEM", 
                     "Updated vault item: " + updated.getTitle() + (passwordChanged ? " (password changed)" : ""), null);
+            long version = vaultVersionService.bump(userId);
+            vaultChangeJournalService.record(userId, id, VaultItemChangedEvent.Operation.UPDATED,
+                    updated.getVersion(), changedFields);
+            vaultItemHistoryService.recordVersions(userId, List.of(updated));
+            vaultSummaryService.apply(userId, summaryDelta);
+            publishChange(VaultItemChangedEvent.Operation.UPDATED, updated, version);
             
-            return toDTO(updated);
-        } catch (ValidationException | ResourceNotFoundException e) {
+            VaultItemDTO dto = toDTO(updated);
+            dto.setPasswordCheck(passwordCheckService.check(updateDTO.getPassword()));
+            return dto;
+        } catch (ValidationException | ResourceNotFoundException | ConflictException e) {
             throw e;
         } catch (Exception e) {
             logger.error("Error on updating vault item with id: {} for user id: {}", id, userId, e);
@@ -222,6 +382,158 @@ public class VaultItemService {
         }
     }
 
+    /**
+     * Runs a batch of deletes, updates and creates (in this order) in one transaction.
+     * Plan limits are read once and the item quota is checked once for the whole batch.
+     * Inserts go out as JDBC batches: ids come from the pooled vault_items sequence,
+     * so Hibernate can group them (hibernate.jdbc.batch_size).
+     * Invalid items are reported in the result and skipped; database errors roll back the whole batch.
+     */
+    public VaultBulkResultDTO executeBulk(Long userId, VaultBulkRequestDTO request) {
+        List<VaultItemCreateDTO> creates = request.getCreate() != null ? request.getCreate() : List.of();
+        List<VaultBulkUpdateDTO> updates = request.getUpdate() != null ? request.getUpdate() : List.of();
+        List<Long> deletes = request.getDelete() != null ? request.getDelete() : List.of();
+        int total = creates.size() + updates.size() + deletes.size();
+        if (total == 0) {
+            throw new ValidationException("Bulk request contains no operations");
+        }
+        if (total > MAX_BULK_OPERATIONS) {
+            throw new ValidationException(String.format("Bulk request exceeds the maximum of %d operations", MAX_BULK_OPERATIONS));
+        }
+        logger.info("Executing bulk operation for user id: {} ({} creates, {} updates, {} deletes)",
+                userId, creates.size(), updates.size(), deletes.size());
+        try {
+            // Locked so the storage mode cannot change until the items are committed
+            User user = userRepository.findByIdForUpdate(userId)
+                    .orElseThrow(() -> {
+                        logger.error("User not found with id: {}", userId);
+                        return new ResourceNotFoundException("User", userId);
+                    });
+            PlanLimitsDTO limits = servicePlanService.getServicePlanWithLimits(user.getServicePlan().getId()).getLimits();
+            if (limits == null) {
+                logger.error("Service plan limits not found for user id: {}", userId);
+                throw new BusinessException("Service plan limits not found");
+            }
+
+            VaultBulkResultDTO result = VaultBulkResultDTO.builder().build();
+            VaultSummaryService.Delta summaryDelta = new VaultSummaryService.Delta();
+
+            // 1. Deletes - one DELETE ... WHERE id IN (...); history and shares go through ON DELETE CASCADE
+            Map<Long, VaultItem> deletable = findOwnedItems(userId, deletes);
+            List<VaultItem> deletedItems = new ArrayList<>();
+            for (int i = 0; i < deletes.size(); i++) {
+                Long id = deletes.get(i);
+                VaultItem item = id != null ? deletable.remove(id) : null;
+                if (item == null) {
+                    addFailure(result, "DELETE", i, id, "Vault item not found");
+                    continue;
+                }
+                deletedItems.add(item);
+                summaryDelta.removed(item.getFolder(), item.getIsFavorite());
+                addSuccess(result, "DELETE", i, id);
+            }
+            if (!deletedItems.isEmpty()) {
+                vaultItemRepository.deleteAllByIdInBatch(deletedItems.stream().map(VaultItem::getId).toList());
+            }
+
+            // 2. Updates - entities loaded with one query, flushed as batched UPDATEs at commit
+            List<Long> updateIds = updates.stream().map(VaultBulkUpdateDTO::getId).filter(Objects::nonNull).toList();
+            Map<Long, VaultItem> updatable = findOwnedItems(userId, updateIds);
+            List<VaultItem> updatedItems = new ArrayList<>();
+            Map<Long, String> tagsByItem = new HashMap<>();
+            Map<Long, Set<String>> changedFieldsByItem = new HashMap<>();
+            for (int i = 0; i < updates.size(); i++) {
+                VaultBulkUpdateDTO updateDTO = updates.get(i);
+                VaultItem item = updateDTO.getId() != null ? updatable.get(updateDTO.getId()) : null;
+                if (item == null) {
+                    addFailure(result, "UPDATE", i, updateDTO.getId(), "Vault item not found");
+                    continue;
+                }
+                String error = validateBulkItem(updateDTO, user, updateDTO.getPassword(), updateDTO.getEncryptedPassword(),
+                        limits, false);
+                if (error != null) {
+                    addFailure(result, "UPDATE", i, item.getId(), error);
+                    continue;
+                }
+                try {
+                    checkConcurrentEdit(item, updateDTO, updateDTO.getVersion());
+                } catch (ConflictException e) {
+                    addFailure(result, "UPDATE", i, item.getId(), e.getMessage() + ": " + e.getConflictingFields());
+                    continue;
+                }
+                summaryDelta.removed(item.getFolder(), item.getIsFavorite());
+                Set<String> changedFields = applyUpdate(item, updateDTO, limits);
+                summaryDelta.added(item.getFolder(), item.getIsFavorite());
+                addSuccess(result, "UPDATE", i, item.getId());
+                if (changedFields.isEmpty()) {
+                    continue; // No new item version, nothing to journal
+                }
+                changedFieldsByItem.put(item.getId(), changedFields);
+                updatedItems.add(item);
+                if (updateDTO.getTags() != null) {
+                    tagsByItem.put(item.getId(), item.getTags());
+                }
+            }
+
+            // 3. Creates - quota checked once against the count after the deletes
+            long remaining = limits.getMaxVaultItems() - vaultItemRepository.countByUserId(userId);
+            List<VaultItem> newItems = new ArrayList<>();
+            List<Integer> newItemIndexes = new ArrayList<>();
+            for (int i = 0; i < creates.size(); i++) {
+                VaultItemCreateDTO createDTO = creates.get(i);
+                String error = validateBulkItem(createDTO, user, createDTO.getPassword(), createDTO.getEncryptedPassword(),
+                        limits, true);
+                if (error == null && remaining <= 0) {
+                    error = String.format("Maximum vault items limit (%d) reached for your plan", limits.getMaxVaultItems());
+                }
+                if (error != null) {
+                    addFailure(result, "CREATE", i, null, error);
+                    continue;
+                }
+                newItems.add(newVaultItem(user, createDTO));
+                newItemIndexes.add(i);
+                remaining--;
+            }
+            List<VaultItem> createdItems = vaultItemRepository.saveAll(newItems);
+            vaultItemRepository.flush();
+            for (int i = 0; i < createdItems.size(); i++) {
+                VaultItem created = createdItems.get(i);
+                addSuccess(result, "CREATE", newItemIndexes.get(i), created.getId());
+                tagsByItem.put(created.getId(), created.getTags());
+                summaryDelta.added(created.getFolder(), created.getIsFavorite());
+            }
+            vaultTagService.replaceTags(userId, tagsByItem);
+
+            auditLogService.logAction(userId, "BULK_VAULT_ITEMS", String.format(
+                    "Bulk operation: %d created, %d updated, %d deleted, %d failed",
+                    createdItems.size(), updatedItems.size(), deletedItems.size(), result.getFailed()), null);
+            if (!deletedItems.isEmpty() || !updatedItems.isEmpty() || !createdItems.isEmpty()) {
+                // One version bump for the whole batch
+                long version = vaultVersionService.bump(userId);
+                // Versions are final here: the flush after saveAll also wrote the updates
+                vaultChangeJournalService.recordDeleted(userId, deletedItems.stream().map(VaultItem::getId).toList());
+                vaultChangeJournalService.recordUpdated(userId, updatedItems, changedFieldsByItem);
+                vaultChangeJournalService.recordCreated(userId, createdItems);
+                vaultItemHistoryService.recordDeleted(deletedItems.stream().map(VaultItem::getId).toList());
+                vaultItemHistoryService.recordVersions(userId, updatedItems);
+                vaultItemHistoryService.recordVersions(userId, createdItems);
+                vaultSummaryService.apply(userId, summaryDelta);
+                deletedItems.forEach(item -> publishDeleted(userId, item.getId(), version));
+                updatedItems.forEach(item -> publishChange(VaultItemChangedEvent.Operation.UPDATED, item, version));
+                createdItems.forEach(item -> publishChange(VaultItemChangedEvent.Operation.CREATED, item, version));
+            }
+
+            logger.info("Bulk operation completed for user id: {} ({} succeeded, {} failed)",
+                    userId, result.getSucceeded(), result.getFailed());
+            return result;
+        } catch (BusinessException | ValidationException | ResourceNotFoundException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error on executing bulk operation for user id: {}", userId, e);
+            throw e;
+        }
+    }
+
     public void deleteVaultItem(Long id, Long userId) {
         logger.info("Deleting vault item with id: {} for user id: {}", id, userId);
         try {
@@ -237,10 +549,16 @@ public class VaultItemService {
             }
 
             String title = item.getTitle();
+            VaultSummaryService.Delta summaryDelta = new VaultSummaryService.Delta().removed(item.getFolder(), item.getIsFavorite());
             vaultItemRepository.delete(item);
             logger.info("Vault item deleted successfully: {} (id: {}) for user id: {}", title, id, userId);
             auditLogService.logAction(userId, "DELETE_VAULT_ITEM", 
                     "Deleted vault item: " + title, null);
+            long version = vaultVersionService.bump(userId);
+            vaultChangeJournalService.record(userId, id, VaultItemChangedEvent.Operation.DELETED, null, null);
+            vaultItemHistoryService.recordDeleted(List.of(id));
+            vaultSummaryService.apply(userId, summaryDelta);
+            publishDeleted(userId, id, version);
         } catch (ValidationException | ResourceNotFoundException e) {
             throw e;
         } catch (Exception e) {
@@ -252,9 +570,7 @@ public class VaultItemService {
     public List<VaultItemDTO> getFavoriteItems(Long userId) {
         logger.debug("Getting favorite vault items for user id: {}", userId);
         try {
-            List<VaultItemDTO> items = vaultItemRepository.findByUserIdAndIsFavorite(userId, true).stream()
-                    .map(this::toDTO)
-                    .collect(Collectors.toList());
+            List<VaultItemDTO> items = vaultItemRepository.findDTOsByUserIdAndIsFavorite(userId, true);
             logger.info("Successfully retrieved {} favorite vault items for user id: {}", items.size(), userId);
             return items;
         } catch (Exception e) {
@@ -263,19 +579,338 @@ public class VaultItemService {
         }
     }
 
+    @Transactional(readOnly = true)
+    public VaultStorageMode getStorageMode(Long userId) {
+        return userRepository.findById(userId)
+                .map(User::getStorageMode)
+                .orElseThrow(() -> new ResourceNotFoundException("User", userId));
+    }
+
+    /**
+     * Switches between server-side and client-side encryption. Existing ciphertext cannot be
+     * converted by the server (in CLIENT mode it never sees the key), so the vault must be empty.
+     */
+    public VaultStorageMode changeStorageMode(Long userId, VaultStorageMode mode) {
+        logger.info("Changing storage mode to {} for user id: {}", mode, userId);
+        try {
+            // The lock makes the emptiness check hold until commit: creates take the same lock first
+            User user = userRepository.findByIdForUpdate(userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("User", userId));
+            if (user.getStorageMode() == mode) {
+                return mode;
+            }
+            if (vaultItemRepository.countByUserId(userId) > 0) {
+                throw new BusinessException("The storage mode can only be changed while the vault is empty");
+            }
+            user.setStorageMode(mode);
+            userRepository.save(user);
+            auditLogService.logAction(userId, "CHANGE_STORAGE_MODE", "Storage mode changed to " + mode, null);
+            return mode;
+        } catch (BusinessException | ResourceNotFoundException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error on changing storage mode for user id: {}", userId, e);
+            throw e;
+        }
+    }
+
+    private Map<Long, VaultItem> findOwnedItems(Long userId, List<Long> ids) {
+        Map<Long, VaultItem> items = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (VaultItem item : vaultItemRepository.findAllByUserIdAndIdIn(userId, ids)) {
+                items.put(item.getId(), item);
+            }
+        }
+        return items;
+    }
+
+    // Bean validation + plan password length for one bulk item; returns the error message or null
+    private String validateBulkItem(Object dto, User user, String password, ClientEncryptedSecretDTO encryptedPassword,
+                                    PlanLimitsDTO limits, boolean required) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+        }
+        try {
+            validateSecret(user, password, encryptedPassword, limits, required);
+            return null;
+        } catch (ValidationException e) {
+            return e.getMessage();
+        }
+    }
+
+    private void addSuccess(VaultBulkResultDTO result, String operation, int index, Long id) {
+        result.getResults().add(new VaultBulkResultDTO.ItemResult(operation, index, id, true, null));
+        result.setSucceeded(result.getSucceeded() + 1);
+    }
+
+    private void addFailure(VaultBulkResultDTO result, String operation, int index, Long id, String error) {
+        result.getResults().add(new VaultBulkResultDTO.ItemResult(operation, index, id, false, error));
+        result.setFailed(result.getFailed() + 1);
+    }
+
+    /**
+     * SERVER mode takes a plaintext password; CLIENT mode takes only client ciphertext, whose
+     * declared plaintext length stands in for the password length in plan checks.
+     */
+    private void validateSecret(User user, String password, ClientEncryptedSecretDTO encryptedPassword,
+                                PlanLimitsDTO limits, boolean required) {
+        if (user.getStorageMode() == VaultStorageMode.CLIENT) {
+            if (password != null) {
+                throw new ValidationException("Plaintext passwords are not accepted in CLIENT storage mode");
+            }
+            if (encryptedPassword == null) {
+                if (required) {
+                    throw new ValidationException("Encrypted password is required");
+                }
+                return;
+            }
+            validateClientCiphertext(encryptedPassword, limits);
+            return;
+        }
+        if (encryptedPassword != null) {
+            throw new ValidationException("Client-encrypted passwords require the CLIENT storage mode");
+        }
+        if (required && (password == null || password.isBlank())) {
+            throw new ValidationException("Password is required");
+        }
+        validatePasswordLength(password, limits);
+    }
+
+    // Size checks only: the ciphertext is never decrypted on the server
+    private void validateClientCiphertext(ClientEncryptedSecretDTO encryptedPassword, PlanLimitsDTO limits) {
+        int plaintextLength = encryptedPassword.getPlaintextLength();
+        if (limits != null && plaintextLength > limits.getMaxPasswordLength()) {
+            logger.warn("Declared password length exceeds maximum allowed ({})", limits.getMaxPasswordLength());
+            throw new ValidationException(String.format("Password length exceeds maximum allowed (%d characters) for your plan",
+                    limits.getMaxPasswordLength()));
+        }
+        int ciphertextBytes = decodedLength(encryptedPassword.getCiphertext(), "ciphertext");
+        // Up to 4 UTF-8 bytes per character plus room for the client's nonce/tag/header
+        if (ciphertextBytes > plaintextLength * 4 + CLIENT_CIPHERTEXT_OVERHEAD_BYTES) {
+            throw new ValidationException("Ciphertext is larger than the declared password length allows");
+        }
+        if (decodedLength(encryptedPassword.getIv(), "IV") > CLIENT_IV_MAX_BYTES) {
+            throw new ValidationException(String.format("IV must not exceed %d bytes", CLIENT_IV_MAX_BYTES));
+        }
+    }
+
+    private static int decodedLength(String base64, String name) {
+        try {
+            return Base64.getDecoder().decode(base64).length;
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid base64 " + name);
+        }
+    }
+
+    private void validatePasswordLength(String password, PlanLimitsDTO limits) {
+        if (password != null && limits != null && password.length() > limits.getMaxPasswordLength()) {
+            logger.warn("Password length exceeds maximum allowed ({})", limits.getMaxPasswordLength());
+            throw new ValidationException(String.format("Password length exceeds maximum allowed (%d characters) for your plan", 
+                    limits.getMaxPasswordLength()));
+        }
+    }
+
+    private VaultItem newVaultItem(User user, VaultItemCreateDTO createDTO) {
+        VaultItem item = new VaultItem();
+        item.setUser(user);
+        item.setTitle(createDTO.getTitle());
+        item.setUsername(createDTO.getUsername());
+        item.setUrl(createDTO.getUrl());
+        item.setUrlHost(UrlHosts.normalizeHost(createDTO.getUrl()));
+        item.setNotes(createDTO.getNotes());
+        item.setFolder(createDTO.getFolder());
+        item.setTags(createDTO.getTags());
+        item.setIsFavorite(createDTO.getIsFavorite() != null ? createDTO.getIsFavorite() : false);
+        storeSecret(item, user.getId(), createDTO.getPassword(), createDTO.getEncryptedPassword());
+        blindIndexService.apply(item, user.getId());
+        return item;
+    }
+
+    /**
+     * Applies the non-null fields of the update to the entity.
+     * @return the fields whose value changed (see touchedFields)
+     */
+    private Set<String> applyUpdate(VaultItem item, VaultItemUpdateDTO updateDTO, PlanLimitsDTO limits) {
+        Set<String> changedFields = touchedFields(item, updateDTO);
+
+        if (hasNewSecret(updateDTO)) {
+            validateSecret(item.getUser(), updateDTO.getPassword(), updateDTO.getEncryptedPassword(), limits, false);
+            
+            // Save old password to history if plan allows history
+            // (only here are the lazy secret columns loaded during an update). Done before any
+            // setter: the native statement flushes the session, and a dirty item would be
+            // written (and its @Version bumped) twice.
+            if (limits != null && limits.getMaxHistoryVersions() > 0) {
+                // Insert + trim to the newest versions in a single statement
+                passwordHistoryRepository.appendAndTrim(item.getId(), item.getEncryptedPassword(),
+                        item.getPasswordIv(), item.getPasswordSalt(), limits.getMaxHistoryVersions());
+            }
+            
+            storeSecret(item, item.getUser().getId(), updateDTO.getPassword(), updateDTO.getEncryptedPassword());
+        }
+        if (updateDTO.getTitle() != null) {
+            item.setTitle(updateDTO.getTitle());
+        }
+        if (updateDTO.getUsername() != null) {
+            item.setUsername(updateDTO.getUsername());
+        }
+        if (updateDTO.getUrl() != null) {
+            item.setUrl(updateDTO.getUrl());
+            item.setUrlHost(UrlHosts.normalizeHost(updateDTO.getUrl()));
+        }
+        if (updateDTO.getNotes() != null) {
+            item.setNotes(updateDTO.getNotes());
+        }
+        if (updateDTO.getFolder() != null) {
+            item.setFolder(updateDTO.getFolder());
+        }
+        if (updateDTO.getTags() != null) {
+            item.setTags(updateDTO.getTags());
+        }
+        if (updateDTO.getIsFavorite() != null) {
+            item.setIsFavorite(updateDTO.getIsFavorite());
+        }
+        if (updateDTO.getTitle() != null || updateDTO.getUsername() != null || updateDTO.getUrl() != null) {
+            blindIndexService.apply(item, item.getUser().getId());
+        }
+        return changedFields;
+    }
+
+    /**
+     * Fields the update would change. A new password always counts (only ciphertext is stored);
+     * notes are compared only when sent, since reading them loads the lazy secret group.
+     */
+    private Set<String> touchedFields(VaultItem item, VaultItemUpdateDTO updateDTO) {
+        Set<String> fields = new TreeSet<>();
+        addIfChanged(fields, FIELD_TITLE, updateDTO.getTitle(), item.getTitle());
+        addIfChanged(fields, FIELD_USERNAME, updateDTO.getUsername(), item.getUsername());
+        if (hasNewSecret(updateDTO)) {
+            fields.add(FIELD_PASSWORD);
+        }
+        addIfChanged(fields, FIELD_URL, updateDTO.getUrl(), item.getUrl());
+        if (updateDTO.getNotes() != null) {
+            addIfChanged(fields, FIELD_NOTES, updateDTO.getNotes(), item.getNotes());
+        }
+        addIfChanged(fields, FIELD_FOLDER, updateDTO.getFolder(), item.getFolder());
+        addIfChanged(fields, FIELD_TAGS, updateDTO.getTags(), item.getTags());
+        addIfChanged(fields, FIELD_IS_FAVORITE, updateDTO.getIsFavorite(), item.getIsFavorite());
+        return fields;
+    }
+
+    private static void addIfChanged(Set<String> fields, String field, Object newValue, Object currentValue) {
+        if (newValue != null && !newValue.equals(currentValue)) {
+            fields.add(field);
+        }
+    }
+
+    /**
+     * Field-level merge check for an update based on expectedVersion (no-op when null or current).
+     * Fields changed since that version come from the change journal.
+     */
+    private void checkConcurrentEdit(VaultItem item, VaultItemUpdateDTO updateDTO, Long expectedVersion) {
+        if (expectedVersion == null || expectedVersion.equals(item.getVersion())) {
+            return;
+        }
+        if (expectedVersion > item.getVersion()) {
+            throw new ConflictException("Unknown version " + expectedVersion + " for vault item " + item.getId(),
+                    item.getVersion(), Set.of());
+        }
+        Set<String> conflicting = touchedFields(item, updateDTO);
+        Set<String> concurrent = vaultChangeJournalService.getChangedFieldsBetween(item.getId(), expectedVersion, item.getVersion());
+        if (concurrent != null) {
+            conflicting.retainAll(concurrent);
+        }
+        if (!conflicting.isEmpty()) {
+            logger.warn("Conflicting update of vault item {} (expected version {}, current {}): {}",
+                    item.getId(), expectedVersion, item.getVersion(), conflicting);
+            throw new ConflictException("Vault item was modified concurrently", item.getVersion(), conflicting);
+        }
+        logger.info("Merging update of vault item {} made on version {} into version {}",
+                item.getId(), expectedVersion, item.getVersion());
+    }
+
+    private static boolean hasNewSecret(VaultItemUpdateDTO updateDTO) {
+        return (updateDTO.getPassword() != null && !updateDTO.getPassword().isEmpty()) || updateDTO.getEncryptedPassword() != null;
+    }
+
+    /**
+     * CLIENT mode: ciphertext and IV are stored exactly as received (no crypto on the server).
+     * SERVER mode: AES-GCM under the owner's data key. password_salt holds the scheme marker in both cases.
+     */
+    private void storeSecret(VaultItem item, Long userId, String password, ClientEncryptedSecretDTO clientEncrypted) {
+        if (clientEncrypted != null) {
+            item.setEncryptedPassword(clientEncrypted.getCiphertext());
+            item.setPasswordIv(clientEncrypted.getIv());
+            item.setPasswordSalt(CLIENT_ENCRYPTION_SCHEME);
+            return;
+        }
+        EncryptedValue encrypted = vaultCryptoService.encrypt(userId, password);
+        item.setEncryptedPassword(encrypted.getCiphertext());
+        item.setPasswordIv(encrypted.getIv());
+        item.setPasswordSalt(encrypted.getScheme());
+    }
+
+    // Listeners run after commit (see VaultItemChangedEvent)
+    private void publishChange(VaultItemChangedEvent.Operation operation, VaultItem item, long vaultVersion) {
+        eventPublisher.publishEvent(new VaultItemChangedEvent(item.getUser().getId(), item.getId(), operation,
+                vaultVersion, item.getTitle(), item.getUsername(), item.getUrl()));
+    }
+
+    private void publishDeleted(Long userId, Long itemId, long vaultVersion) {
+        eventPublisher.publishEvent(new VaultItemChangedEvent(userId, itemId, VaultItemChangedEvent.Operation.DELETED,
+                vaultVersion, null, null, null));
+    }
+
+    private VaultItemPageQuery.Sort parseSort(String sort) {
+        if (sort == null || sort.isBlank() || sort.equalsIgnoreCase("updated")) {
+            return VaultItemPageQuery.Sort.UPDATED_AT;
+        }
+        if (sort.equalsIgnoreCase("title")) {
+            return VaultItemPageQuery.Sort.TITLE;
+        }
+        throw new ValidationException("Invalid sort: " + sort + " (expected 'updated' or 'title')");
+    }
+
+    // Cursor = base64url("<sort key>|<id>"); opaque for clients
+    private String encodeCursor(VaultItemPageQuery.Sort sort, VaultItemSummaryDTO last) {
+        String key = sort == VaultItemPageQuery.Sort.TITLE ? last.getTitle() : last.getUpdatedAt().toString();
+        String raw = key + CURSOR_SEPARATOR + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void applyCursor(VaultItemPageQuery.VaultItemPageQueryBuilder query, VaultItemPageQuery.Sort sort, String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(CURSOR_SEPARATOR);
+            String key = raw.substring(0, separator);
+            query.afterId(Long.parseLong(raw.substring(separator + 1)));
+            if (sort == VaultItemPageQuery.Sort.TITLE) {
+                query.afterTitle(key);
+            } else {
+                query.afterUpdatedAt(LocalDateTime.parse(key));
+            }
+        } catch (RuntimeException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+
     private VaultItemDTO toDTO(VaultItem item) {
+        // Notes are in the lazy "secret" group: only returned if this request already loaded them
+        String notes = Hibernate.isPropertyInitialized(item, "notes") ? item.getNotes() : null;
         return VaultItemDTO.builder()
                 .id(item.getId())
                 .userId(item.getUser().getId())
                 .title(item.getTitle())
                 .username(item.getUsername())
                 .url(item.getUrl())
-                .notes(item.getNotes())
+                .notes(notes)
                 .folder(item.getFolder())
                 .tags(item.getTags())
                 .isFavorite(item.getIsFavorite())
                 .createdAt(item.getCreatedAt())
                 .updatedAt(item.getUpdatedAt())
+                .version(item.getVersion())
                 .build();
     }
 }
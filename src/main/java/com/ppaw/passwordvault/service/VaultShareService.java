@@ -0,0 +1,78 @@
+package com.ppaw.passwordvault.service;
+
+import com.ppaw.passwordvault.event.VaultShareReceivedEvent;
+import com.ppaw.passwordvault.exception.ResourceNotFoundException;
+import com.ppaw.passwordvault.exception.ValidationException;
+import com.ppaw.passwordvault.model.SharedVaultItem;
+import com.ppaw.passwordvault.model.User;
+import com.ppaw.passwordvault.model.VaultItem;
+import com.ppaw.passwordvault.repository.SharedVaultItemRepository;
+import com.ppaw.passwordvault.repository.UserRepository;
+import com.ppaw.passwordvault.repository.VaultItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Creates vault item shares. The share row and the recipient's vault version bump commit together,
+ * so a client never sees the new version without the share (or the share without a version change).
+ */
+@Service
+@RequiredArgsConstructor
+public class VaultShareService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VaultShareService.class);
+
+    private final VaultItemRepository vaultItemRepository;
+    private final UserRepository userRepository;
+    private final SharedVaultItemRepository sharedVaultItemRepository;
+    private final VaultVersionService vaultVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Shares one of the user's items with another user and returns the recipient.
+     * Plan checks are the caller's job.
+     */
+    @Transactional
+    public User shareVaultItem(Long userId, Long vaultItemId, String sharedWithUsernameOrEmail, Boolean canEdit) {
+        VaultItem vaultItem = vaultItemRepository.findById(vaultItemId)
+                .orElseThrow(() -> new ResourceNotFoundException("VaultItem", vaultItemId));
+
+        if (!vaultItem.getUser().getId().equals(userId)) {
+            throw new ValidationException("Vault item does not belong to you");
+        }
+
+        User sharedWithUser = userRepository.findByUsernameOrEmail(sharedWithUsernameOrEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User with username/email " + sharedWithUsernameOrEmail + " not found"));
+
+        if (sharedWithUser.getId().equals(userId)) {
+            throw new ValidationException("Cannot share with yourself");
+        }
+
+        if (sharedVaultItemRepository.findByVaultItemIdAndSharedWithUserId(vaultItemId, sharedWithUser.getId()).isPresent()) {
+            throw new ValidationException("Vault item is already shared with this user");
+        }
+
+        try {
+            SharedVaultItem share = new SharedVaultItem();
+            share.setVaultItem(vaultItem);
+            share.setSharedByUser(vaultItem.getUser());
+            share.setSharedWithUser(sharedWithUser);
+            share.setCanEdit(canEdit != null ? canEdit : false);
+            sharedVaultItemRepository.save(share);
+
+            long recipientVersion = vaultVersionService.bump(sharedWithUser.getId());
+            // Delivered to the listeners after commit
+            eventPublisher.publishEvent(new VaultShareReceivedEvent(sharedWithUser.getId(), vaultItem.getId(),
+                    recipientVersion));
+            logger.info("Vault item {} shared by user {} with user {}", vaultItemId, userId, sharedWithUser.getId());
+            return sharedWithUser;
+        } catch (Exception e) {
+            logger.error("Error sharing vault item {} of user {}: {}", vaultItemId, userId, e.getMessage(), e);
+            throw e;
+        }
+    }
+}
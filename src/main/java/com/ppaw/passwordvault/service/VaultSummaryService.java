@@ -0,0 +1,180 @@
+package com.ppaw.passwordvault.service;
+
+import com.ppaw.passwordvault.cache.CacheService;
+import com.ppaw.passwordvault.dto.VaultFolderNodeDTO;
+import com.ppaw.passwordvault.dto.VaultSummaryDTO;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-user vault summary (folder tree, counts, favorites, last modification) kept in
+ * vault_folder_summaries. VaultItemService applies count deltas in the same transaction as each
+ * mutation; reads are cached per vault version, so no invalidation is needed.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class VaultSummaryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VaultSummaryService.class);
+
+    private static final String CACHE_KEY_VAULT_SUMMARY = "vault_summary_";
+    private static final int CACHE_TIME_MINUTES = 30;
+    private static final String FOLDER_SEPARATOR = "/";
+
+    private static final String UPSERT_DELTA_SQL =
+            "INSERT INTO vault_schema.vault_folder_summaries (user_id, folder, item_count, favorite_count, last_modified_at) " +
+            "VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (user_id, folder) DO UPDATE SET " +
+            "item_count = vault_folder_summaries.item_count + EXCLUDED.item_count, " +
+            "favorite_count = vault_folder_summaries.favorite_count + EXCLUDED.favorite_count, " +
+            "last_modified_at = EXCLUDED.last_modified_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheService cacheService;
+    private final VaultVersionService vaultVersionService;
+
+    /**
+     * Count changes per folder collected during one mutation (or one bulk batch).
+     */
+    public static class Delta {
+        // folder -> {item delta, favorite delta}; sorted so concurrent upserts lock rows in the same order
+        private final Map<String, int[]> byFolder = new TreeMap<>();
+
+        public Delta added(String folder, Boolean favorite) {
+            return apply(folder, favorite, 1);
+        }
+
+        public Delta removed(String folder, Boolean favorite) {
+            return apply(folder, favorite, -1);
+        }
+
+        public boolean isEmpty() {
+            return byFolder.isEmpty();
+        }
+
+        private Delta apply(String folder, Boolean favorite, int sign) {
+            int[] counts = byFolder.computeIfAbsent(folder != null ? folder : "", key -> new int[2]);
+            counts[0] += sign;
+            if (Boolean.TRUE.equals(favorite)) {
+                counts[1] += sign;
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Applies the deltas with one batched upsert. Folders with a zero net delta are still touched
+     * so that last_modified_at follows every change.
+     */
+    public void apply(Long userId, Delta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(delta.byFolder.size());
+        delta.byFolder.forEach((folder, counts) -> rows.add(new Object[]{userId, folder, counts[0], counts[1]}));
+        jdbcTemplate.batchUpdate(UPSERT_DELTA_SQL, rows);
+    }
+
+    @Transactional(readOnly = true)
+    public VaultSummaryDTO getSummary(Long userId) {
+        long version = vaultVersionService.getVersion(userId);
+        String cacheKey = CACHE_KEY_VAULT_SUMMARY + userId;
+        VaultSummaryDTO cached = cacheService.get(cacheKey, VaultSummaryDTO.class);
+        if (cached != null && cached.getVaultVersion() == version) {
+            return cached;
+        }
+
+        VaultSummaryDTO summary = buildSummary(userId, version);
+        cacheService.set(cacheKey, summary, CACHE_TIME_MINUTES);
+        logger.debug("Vault summary built for user id: {} (version {})", userId, version);
+        return summary;
+    }
+
+    private VaultSummaryDTO buildSummary(Long userId, long version) {
+        Map<String, VaultFolderNodeDTO> nodesByPath = new TreeMap<>();
+        List<VaultFolderNodeDTO> roots = new ArrayList<>();
+        long[] totals = new long[3]; // total, favorites, unfiled
+        LocalDateTime[] lastModified = new LocalDateTime[1];
+
+        jdbcTemplate.query("SELECT folder, item_count, favorite_count, last_modified_at " +
+                "FROM vault_schema.vault_folder_summaries WHERE user_id = ? ORDER BY folder", rs -> {
+            String folder = rs.getString(1);
+            long itemCount = rs.getLong(2);
+            long favoriteCount = rs.getLong(3);
+            Timestamp modifiedAt = rs.getTimestamp(4);
+            if (modifiedAt != null && (lastModified[0] == null || modifiedAt.toLocalDateTime().isAfter(lastModified[0]))) {
+                lastModified[0] = modifiedAt.toLocalDateTime();
+            }
+            if (itemCount <= 0) {
+                return;
+            }
+            totals[0] += itemCount;
+            totals[1] += favoriteCount;
+            if (folder.isEmpty()) {
+                totals[2] += itemCount;
+                return;
+            }
+            VaultFolderNodeDTO node = getOrCreateNode(folder, nodesByPath, roots);
+            node.setItemCount(node.getItemCount() + itemCount);
+            // Roll the counts up to every ancestor
+            for (String path = folder; path != null; path = parentPath(path)) {
+                VaultFolderNodeDTO ancestor = getOrCreateNode(path, nodesByPath, roots);
+                ancestor.setTotalCount(ancestor.getTotalCount() + itemCount);
+                ancestor.setFavoriteCount(ancestor.getFavoriteCount() + favoriteCount);
+            }
+        }, userId);
+
+        sortTree(roots);
+        return VaultSummaryDTO.builder()
+                .totalCount(totals[0])
+                .favoriteCount(totals[1])
+                .unfiledCount(totals[2])
+                .lastModifiedAt(lastModified[0])
+                .vaultVersion(version)
+                .folders(roots)
+                .build();
+    }
+
+    private static VaultFolderNodeDTO getOrCreateNode(String path, Map<String, VaultFolderNodeDTO> nodesByPath,
+                                                      List<VaultFolderNodeDTO> roots) {
+        VaultFolderNodeDTO node = nodesByPath.get(path);
+        if (node != null) {
+            return node;
+        }
+        String parent = parentPath(path);
+        node = VaultFolderNodeDTO.builder()
+                .name(parent == null ? path : path.substring(parent.length() + 1))
+                .path(path)
+                .build();
+        nodesByPath.put(path, node);
+        if (parent == null) {
+            roots.add(node);
+        } else {
+            getOrCreateNode(parent, nodesByPath, roots).getChildren().add(node);
+        }
+        return node;
+    }
+
+    private static String parentPath(String path) {
+        int index = path.lastIndexOf(FOLDER_SEPARATOR);
+        return index > 0 ? path.substring(0, index) : null;
+    }
+
+    private static void sortTree(List<VaultFolderNodeDTO> nodes) {
+        nodes.sort(Comparator.comparing(VaultFolderNodeDTO::getName, String.CASE_INSENSITIVE_ORDER));
+        nodes.forEach(node -> sortTree(node.getChildren()));
+    }
+}
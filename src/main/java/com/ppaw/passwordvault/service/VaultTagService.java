@@ -0,0 +1,102 @@
+package com.ppaw.passwordvault.service;
+
+import com.ppaw.passwordvault.dto.TagCountDTO;
+import com.ppaw.passwordvault.repository.VaultItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps vault_item_tags in sync with VaultItem.tags and serves tag facet counts.
+ * Rows of deleted items go away through ON DELETE CASCADE.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class VaultTagService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VaultTagService.class);
+
+    public static final int MAX_TAG_LENGTH = 100;
+
+    private static final String DELETE_ITEM_TAGS_SQL =
+            "DELETE FROM vault_schema.vault_item_tags WHERE vault_item_id = ?";
+    private static final String INSERT_ITEM_TAG_SQL =
+            "INSERT INTO vault_schema.vault_item_tags (user_id, tag, vault_item_id) VALUES (?, ?, ?) ON CONFLICT DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final VaultItemRepository vaultItemRepository;
+
+    /**
+     * Splits the free-form tags string on commas, trims and lowercases each tag and drops
+     * empty, duplicate and over-long entries. Must stay in line with the V20 backfill.
+     */
+    public static List<String> parseTags(String tags) {
+        if (tags == null || tags.isBlank()) {
+            return List.of();
+        }
+        Set<String> result = new LinkedHashSet<>();
+        for (String part : tags.split(",")) {
+            String tag = part.strip().toLowerCase(Locale.ROOT);
+            if (!tag.isEmpty() && tag.length() <= MAX_TAG_LENGTH) {
+                result.add(tag);
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    public static List<String> normalizeFilter(Collection<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return List.of();
+        }
+        return parseTags(String.join(",", tags));
+    }
+
+    public void replaceTags(Long userId, Long itemId, String tags) {
+        replaceTags(userId, Map.of(itemId, tags != null ? tags : ""));
+    }
+
+    /**
+     * Replaces the tag rows of the given items (item id -> raw tags string) with two JDBC batches.
+     */
+    public void replaceTags(Long userId, Map<Long, String> tagsByItem) {
+        if (tagsByItem.isEmpty()) {
+            return;
+        }
+        List<Object[]> deletes = new ArrayList<>(tagsByItem.size());
+        List<Object[]> inserts = new ArrayList<>();
+        tagsByItem.forEach((itemId, tags) -> {
+            deletes.add(new Object[]{itemId});
+            for (String tag : parseTags(tags)) {
+                inserts.add(new Object[]{userId, tag, itemId});
+            }
+        });
+        jdbcTemplate.batchUpdate(DELETE_ITEM_TAGS_SQL, deletes);
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ITEM_TAG_SQL, inserts);
+        }
+        logger.debug("Replaced tags of {} vault items for user id: {}", tagsByItem.size(), userId);
+    }
+
+    /**
+     * Per-tag item counts among the user's items matching the given facets (folder, favorite, tags - all ANDed).
+     * Without facets this is an index-only scan of pk_vault_item_tags.
+     */
+    @Transactional(readOnly = true)
+    public List<TagCountDTO> getTagCounts(Long userId, String folder, Boolean favorite, Collection<String> tags) {
+        logger.debug("Getting tag counts for user id: {} (folder: {}, favorite: {}, tags: {})", userId, folder, favorite, tags);
+        return vaultItemRepository.countTags(userId,
+                folder != null && !folder.isBlank() ? folder : null, favorite, normalizeFilter(tags));
+    }
+}
@@ -0,0 +1,105 @@
+package com.ppaw.passwordvault.service;
+
+import com.ppaw.passwordvault.cache.CacheService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Monotonically increasing vault version per user (users.vault_version).
+ * Bumped in the same transaction as every vault mutation; reads are served from the cache,
+ * so a conditional GET that ends in 304 never touches the vault tables.
+ */
+@Service
+@RequiredArgsConstructor
+public class VaultVersionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VaultVersionService.class);
+
+    private static final String CACHE_KEY_VAULT_VERSION = "vault_version_";
+    private static final int CACHE_TIME_MINUTES = 60;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheService cacheService;
+
+    /**
+     * Increments the vault version of a user inside the current transaction.
+     * The row lock on users also orders concurrent mutations of the same vault.
+     * The cached value is replaced only after commit, so readers never see an uncommitted version
+     * (a rolled-back bump never reached the cache, so there is nothing to undo).
+     * @return the new version
+     */
+    @Transactional
+    public long bump(Long userId) {
+        Long version = jdbcTemplate.queryForObject(
+                "UPDATE vault_schema.users SET vault_version = vault_version + 1 WHERE id = ? RETURNING vault_version",
+                Long.class, userId);
+        long newVersion = version != null ? version : 0L;
+        String cacheKey = CACHE_KEY_VAULT_VERSION + userId;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        cacheIfNewer(cacheKey, newVersion);
+                    }
+                }
+            });
+        } else {
+            cacheIfNewer(cacheKey, newVersion);
+        }
+        logger.debug("Vault version for user id: {} bumped to {}", userId, newVersion);
+        return newVersion;
+    }
+
+    @Transactional(readOnly = true)
+    public long getVersion(Long userId) {
+        String cacheKey = CACHE_KEY_VAULT_VERSION + userId;
+        Long cached = cacheService.get(cacheKey, Long.class);
+        if (cached != null) {
+            return cached;
+        }
+        Long version = jdbcTemplate.queryForObject(
+                "SELECT vault_version FROM vault_schema.users WHERE id = ?", Long.class, userId);
+        long current = version != null ? version : 0L;
+        cacheIfNewer(cacheKey, current);
+        return current;
+    }
+
+    // Versions only grow: a read that raced with a bump, or two bumps completing out of order,
+    // must not replace a newer cached version with an older one
+    private synchronized void cacheIfNewer(String cacheKey, long version) {
+        Long cached = cacheService.get(cacheKey, Long.class);
+        if (cached == null || cached < version) {
+            cacheService.set(cacheKey, version, CACHE_TIME_MINUTES);
+        }
+    }
+
+    /**
+     * Strong ETag for the vault of a user, e.g. "v42-17" (user 42, version 17).
+     */
+    public String getETag(Long userId) {
+        return "\"v" + userId + "-" + getVersion(userId) + "\"";
+    }
+
+    /**
+     * True if an If-None-Match header value matches the given ETag ("*" or a list of tags).
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,12 @@
+-- Flyway Migration V14: Indexes for keyset pagination on vault_items
+-- Suportă paginarea keyset pe (updated_at, id) și (title, id) pentru un utilizator
+
+CREATE INDEX IF NOT EXISTS idx_vault_items_user_updated
+    ON vault_schema.vault_items(user_id, updated_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_vault_items_user_title
+    ON vault_schema.vault_items(user_id, title, id);
+
+CREATE INDEX IF NOT EXISTS idx_vault_items_user_favorite
+    ON vault_schema.vault_items(user_id, updated_at DESC, id DESC)
+    WHERE is_favorite = true;
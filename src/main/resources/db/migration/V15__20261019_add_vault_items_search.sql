@@ -0,0 +1,26 @@
+-- Flyway Migration V15: Full-text search over vault_items
+-- Coloană tsvector generată (title, username, url, tags, notes) cu index GIN
+-- plus index trigram pentru căutări de tip substring
+
+ALTER TABLE vault_schema.vault_items
+ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple'::regconfig, coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple'::regconfig, coalesce(username, '')), 'B') ||
+        setweight(to_tsvector('simple'::regconfig, coalesce(url, '')), 'B') ||
+        setweight(to_tsvector('simple'::regconfig, coalesce(tags, '')), 'C') ||
+        setweight(to_tsvector('simple'::regconfig, coalesce(notes, '')), 'D')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_vault_items_search_vector
+    ON vault_schema.vault_items USING gin (search_vector);
+
+COMMENT ON COLUMN vault_schema.vault_items.search_vector IS 'Vector full-text generat automat; nu este mapat în entitate';
+
+-- Trigram fallback (ILIKE '%...%') pe title + username + url
+CREATE EXTENSION IF NOT EXISTS pg_trgm WITH SCHEMA public;
+
+CREATE INDEX IF NOT EXISTS idx_vault_items_search_trgm
+    ON vault_schema.vault_items USING gin (
+        (coalesce(title, '') || ' ' || coalesce(username, '') || ' ' || coalesce(url, '')) public.gin_trgm_ops
+    );
@@ -0,0 +1,21 @@
+-- Flyway Migration V16: Normalized URL host for autofill matching
+-- Host-ul normalizat (lowercase, fără schemă, port, cale sau "www.") extras din url
+
+ALTER TABLE vault_schema.vault_items
+ADD COLUMN IF NOT EXISTS url_host VARCHAR(255);
+
+COMMENT ON COLUMN vault_schema.vault_items.url_host IS 'Host normalizat din url, folosit pentru autofill (ex: login.github.com)';
+
+-- Completare pentru item-urile existente (aceeași normalizare ca UrlHosts.normalizeHost)
+UPDATE vault_schema.vault_items
+SET url_host = nullif(
+        regexp_replace(
+            lower(substring(url from '^(?:[a-zA-Z][a-zA-Z0-9+.-]*://)?(?:[^@/?#]*@)?([^:/?#]+)')),
+            '^www\.', ''),
+        '')
+WHERE url IS NOT NULL AND url_host IS NULL;
+
+-- Indexul acoperă citirea (id, url_host) pentru construirea trie-ului la cold start
+CREATE INDEX IF NOT EXISTS idx_vault_items_user_url_host
+    ON vault_schema.vault_items(user_id, url_host, id)
+    WHERE url_host IS NOT NULL;
@@ -0,0 +1,5 @@
+-- Flyway Migration V17: Pooled id allocation for vault_items
+-- Entitatea VaultItem folosește @SequenceGenerator(allocationSize = 50); incrementul secvenței
+-- trebuie să fie identic, altfel Hibernate refuză pornirea (increment size mismatch)
+
+ALTER SEQUENCE vault_schema.vault_items_id_seq INCREMENT BY 50;
@@ -0,0 +1,8 @@
+-- Flyway Migration V18: Per-user vault version
+-- Contor monoton incrementat la fiecare modificare a vault-ului (create/update/delete/share primit)
+-- Folosit ca ETag pentru GET /api/vault
+
+ALTER TABLE vault_schema.users
+ADD COLUMN IF NOT EXISTS vault_version BIGINT NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN vault_schema.users.vault_version IS 'Versiunea vault-ului; nu este mapată în entitatea User (scrisă doar de VaultVersionService)';
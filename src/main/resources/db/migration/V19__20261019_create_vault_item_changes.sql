@@ -0,0 +1,30 @@
+-- Flyway Migration V19: Change journal pentru delta sync
+-- Un rând per create/update/delete, scris în aceeași tranzacție cu modificarea vault item-ului
+-- vault_item_id NU are FK: rândurile DELETE (tombstones) trebuie să supraviețuiască ștergerii item-ului
+
+CREATE TABLE IF NOT EXISTS vault_schema.vault_item_changes (
+    seq BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    vault_item_id BIGINT NOT NULL,
+    operation VARCHAR(10) NOT NULL,
+    changed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_vault_item_changes_user FOREIGN KEY (user_id)
+        REFERENCES vault_schema.users(id) ON DELETE CASCADE,
+    CONSTRAINT chk_vault_item_changes_operation CHECK (operation IN ('CREATED', 'UPDATED', 'DELETED'))
+);
+
+-- Citire: WHERE user_id = ? AND seq > ? ORDER BY seq
+CREATE INDEX IF NOT EXISTS idx_vault_item_changes_user_seq
+    ON vault_schema.vault_item_changes(user_id, seq);
+
+-- Retenție: ultimul seq șters de job-ul de curățare (un singur rând)
+-- Clienții cu since < pruned_through_seq trebuie să facă full resync
+CREATE TABLE IF NOT EXISTS vault_schema.vault_change_retention (
+    id SMALLINT PRIMARY KEY CHECK (id = 1),
+    pruned_through_seq BIGINT NOT NULL DEFAULT 0,
+    pruned_at TIMESTAMP
+);
+
+INSERT INTO vault_schema.vault_change_retention (id, pruned_through_seq)
+VALUES (1, 0)
+ON CONFLICT (id) DO NOTHING;
@@ -0,0 +1,32 @@
+-- Flyway Migration V20: Normalized tag index
+-- vault_items.tags rămâne textul introdus de utilizator (separat prin virgulă);
+-- vault_item_tags conține câte un rând per (user, tag normalizat, item) pentru filtrare și fațete
+-- PK (user_id, tag, vault_item_id) acoperă numărarea per tag => index-only scan
+
+CREATE TABLE IF NOT EXISTS vault_schema.vault_item_tags (
+    user_id BIGINT NOT NULL,
+    tag VARCHAR(100) NOT NULL,
+    vault_item_id BIGINT NOT NULL,
+    CONSTRAINT pk_vault_item_tags PRIMARY KEY (user_id, tag, vault_item_id),
+    -- DEFERRABLE: tag-urile unui item nou pot fi scrise înainte ca Hibernate să facă flush la INSERT-ul item-ului
+    CONSTRAINT fk_vault_item_tags_item FOREIGN KEY (vault_item_id)
+        REFERENCES vault_schema.vault_items(id) ON DELETE CASCADE DEFERRABLE INITIALLY DEFERRED,
+    CONSTRAINT fk_vault_item_tags_user FOREIGN KEY (user_id)
+        REFERENCES vault_schema.users(id) ON DELETE CASCADE
+);
+
+-- Înlocuirea tag-urilor unui item și ON DELETE CASCADE
+CREATE INDEX IF NOT EXISTS idx_vault_item_tags_item
+    ON vault_schema.vault_item_tags(vault_item_id);
+
+-- Backfill din coloana existentă (aceeași normalizare ca VaultTagService.parseTags)
+INSERT INTO vault_schema.vault_item_tags (user_id, tag, vault_item_id)
+SELECT DISTINCT v.user_id, lower(btrim(t.tag, E' \t\r\n')), v.id
+FROM vault_schema.vault_items v,
+     regexp_split_to_table(v.tags, ',') AS t(tag)
+WHERE v.tags IS NOT NULL
+  AND btrim(t.tag, E' \t\r\n') <> ''
+  AND length(btrim(t.tag, E' \t\r\n')) <= 100
+ON CONFLICT DO NOTHING;
+
+ANALYZE vault_schema.vault_item_tags;
@@ -0,0 +1,25 @@
+-- Flyway Migration V21: Sumar vault per utilizator (pe folder)
+-- Menținut incremental de VaultSummaryService (delta upsert la fiecare create/update/delete)
+-- folder = '' pentru item-urile fără folder
+
+CREATE TABLE IF NOT EXISTS vault_schema.vault_folder_summaries (
+    user_id BIGINT NOT NULL,
+    folder VARCHAR(255) NOT NULL,
+    item_count INTEGER NOT NULL DEFAULT 0,
+    favorite_count INTEGER NOT NULL DEFAULT 0,
+    last_modified_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT pk_vault_folder_summaries PRIMARY KEY (user_id, folder),
+    CONSTRAINT fk_vault_folder_summaries_user FOREIGN KEY (user_id)
+        REFERENCES vault_schema.users(id) ON DELETE CASCADE
+);
+
+-- Backfill din vault_items
+INSERT INTO vault_schema.vault_folder_summaries (user_id, folder, item_count, favorite_count, last_modified_at)
+SELECT user_id,
+       coalesce(folder, ''),
+       count(*),
+       count(*) FILTER (WHERE is_favorite),
+       max(updated_at)
+FROM vault_schema.vault_items
+GROUP BY user_id, coalesce(folder, '')
+ON CONFLICT (user_id, folder) DO NOTHING;
@@ -0,0 +1,17 @@
+-- Flyway Migration V22: Optimistic concurrency pentru vault_items
+-- version = @Version în entitatea VaultItem (incrementat de Hibernate la fiecare UPDATE)
+-- Jurnalul de modificări reține versiunea rezultată și câmpurile modificate, pentru merge la nivel de câmp
+
+ALTER TABLE vault_schema.vault_items
+ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE vault_schema.vault_item_changes
+ADD COLUMN IF NOT EXISTS item_version BIGINT;
+
+-- Listă separată prin virgulă (title,username,password,...); NULL = toate câmpurile (create/delete sau necunoscut)
+ALTER TABLE vault_schema.vault_item_changes
+ADD COLUMN IF NOT EXISTS changed_fields VARCHAR(200);
+
+-- Căutarea modificărilor unui item după o versiune dată
+CREATE INDEX IF NOT EXISTS idx_vault_item_changes_item_version
+    ON vault_schema.vault_item_changes(vault_item_id, item_version);
@@ -0,0 +1,15 @@
+-- Flyway Migration V23: Chei de date per utilizator (envelope encryption)
+-- Cheia AES-256 a fiecărui utilizator este stocată doar "wrapped" (AES-GCM cu master key-ul aplicației)
+-- wrapped_key = base64(iv || ciphertext || tag)
+
+CREATE TABLE IF NOT EXISTS vault_schema.user_data_keys (
+    user_id BIGINT PRIMARY KEY,
+    wrapped_key TEXT NOT NULL,
+    key_version INTEGER NOT NULL DEFAULT 1,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_user_data_keys_user FOREIGN KEY (user_id)
+        REFERENCES vault_schema.users(id) ON DELETE CASCADE
+);
+
+COMMENT ON COLUMN vault_schema.vault_items.password_salt IS
+    'Marcaj schemă criptare: aes-gcm:v1 (cheie de date per utilizator); alte valori = format vechi (encrypted_<text>)';
@@ -0,0 +1,9 @@
+-- Flyway Migration V24: Mod de stocare per utilizator
+-- SERVER = parolele sunt criptate pe server (AES-GCM, V23)
+-- CLIENT = clientul trimite ciphertext opac; serverul validează doar dimensiuni și limite de plan
+
+ALTER TABLE vault_schema.users
+ADD COLUMN IF NOT EXISTS storage_mode VARCHAR(10) NOT NULL DEFAULT 'SERVER';
+
+ALTER TABLE vault_schema.users
+ADD CONSTRAINT chk_users_storage_mode CHECK (storage_mode IN ('SERVER', 'CLIENT'));
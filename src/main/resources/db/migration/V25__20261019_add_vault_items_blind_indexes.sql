@@ -0,0 +1,29 @@
+-- Flyway Migration V25: Blind index (HMAC-SHA256 cu cheie) pentru căutare pe câmpuri criptabile
+-- Valorile sunt calculate în aplicație (BlindIndexService); cheia nu ajunge niciodată în baza de date
+-- Rândurile existente sunt completate la pornire de VaultLookupService.backfillBlindIndexes (title_bidx IS NULL = neindexat)
+
+ALTER TABLE vault_schema.vault_items
+ADD COLUMN IF NOT EXISTS title_bidx VARCHAR(32),
+ADD COLUMN IF NOT EXISTS username_bidx VARCHAR(32),
+ADD COLUMN IF NOT EXISTS url_host_bidx VARCHAR(32),
+ADD COLUMN IF NOT EXISTS url_domain_bidx VARCHAR(32);
+
+CREATE INDEX IF NOT EXISTS idx_vault_items_user_title_bidx
+    ON vault_schema.vault_items(user_id, title_bidx);
+
+CREATE INDEX IF NOT EXISTS idx_vault_items_user_username_bidx
+    ON vault_schema.vault_items(user_id, username_bidx)
+    WHERE username_bidx IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_vault_items_user_url_host_bidx
+    ON vault_schema.vault_items(user_id, url_host_bidx)
+    WHERE url_host_bidx IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_vault_items_user_url_domain_bidx
+    ON vault_schema.vault_items(user_id, url_domain_bidx)
+    WHERE url_domain_bidx IS NOT NULL;
+
+-- Backfill-ul la pornire caută rândurile neindexate
+CREATE INDEX IF NOT EXISTS idx_vault_items_missing_bidx
+    ON vault_schema.vault_items(id)
+    WHERE title_bidx IS NULL;
@@ -0,0 +1,6 @@
+-- Flyway Migration V26: Index pentru istoricul de parole limitat (append + trim într-o singură instrucțiune)
+-- PasswordHistoryRepository.appendAndTrim păstrează cele mai recente N versiuni per item;
+-- subinterogarea ORDER BY created_at DESC, id DESC LIMIT N devine o scanare scurtă pe acest index
+
+CREATE INDEX IF NOT EXISTS idx_password_history_item_recent
+    ON vault_schema.password_history(vault_item_id, created_at DESC, id DESC);
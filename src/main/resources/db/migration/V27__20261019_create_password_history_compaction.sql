@@ -0,0 +1,16 @@
+-- Flyway Migration V27: Stare (checkpoint) pentru compactarea în fundal a istoricului de parole
+-- La scăderea maxHistoryVersions (plan modificat de admin sau utilizator mutat pe alt plan)
+-- se marchează pending = TRUE; PasswordHistoryCompactor parcurge utilizatorii în loturi (keyset pe id)
+-- și salvează cursor_user_id după fiecare lot, deci reia de unde a rămas după un restart
+
+CREATE TABLE IF NOT EXISTS vault_schema.password_history_compaction (
+    id SMALLINT PRIMARY KEY CHECK (id = 1),
+    pending BOOLEAN NOT NULL DEFAULT FALSE,
+    cursor_user_id BIGINT NOT NULL DEFAULT 0,
+    requested_at TIMESTAMP,
+    completed_at TIMESTAMP,
+    deleted_rows BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO vault_schema.password_history_compaction (id) VALUES (1)
+ON CONFLICT (id) DO NOTHING;
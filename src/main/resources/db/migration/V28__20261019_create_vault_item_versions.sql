@@ -0,0 +1,39 @@
+-- Flyway Migration V28: Versiuni temporale ale item-urilor din vault (vizualizare "as of")
+-- Fiecare rând este starea metadatelor unui item pe intervalul valid = [de la, până la);
+-- versiunea curentă are limita superioară infinită. Scrise de VaultItemHistoryService
+-- după VaultVersionService.bump() (lock pe users), deci intervalele unui item nu se suprapun.
+-- Secretele (parola, notițele) nu sunt copiate aici; istoricul parolelor rămâne în password_history.
+
+CREATE EXTENSION IF NOT EXISTS btree_gist WITH SCHEMA public;
+
+CREATE TABLE IF NOT EXISTS vault_schema.vault_item_versions (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    vault_item_id BIGINT NOT NULL, -- fără FK: versiunile rămân după ștergerea item-ului
+    item_version BIGINT,
+    title VARCHAR(255) NOT NULL,
+    username VARCHAR(255),
+    url VARCHAR(500),
+    folder VARCHAR(100),
+    tags VARCHAR(255),
+    is_favorite BOOLEAN NOT NULL DEFAULT false,
+    created_at TIMESTAMP NOT NULL,
+    valid TSRANGE NOT NULL,
+    CONSTRAINT fk_vault_item_versions_user FOREIGN KEY (user_id)
+        REFERENCES vault_schema.users(id) ON DELETE CASCADE,
+    -- Intervalele aceluiași item nu se suprapun (indexul GiST servește și închiderea versiunii curente)
+    CONSTRAINT ex_vault_item_versions_no_overlap
+        EXCLUDE USING gist (vault_item_id WITH =, valid WITH &&)
+);
+
+-- Interogarea "as of": user_id = ? AND valid @> ?
+CREATE INDEX IF NOT EXISTS idx_vault_item_versions_user_valid
+    ON vault_schema.vault_item_versions USING gist (user_id, valid);
+
+-- Backfill: starea curentă, valabilă de la ultima modificare cunoscută
+INSERT INTO vault_schema.vault_item_versions
+    (user_id, vault_item_id, item_version, title, username, url, folder, tags, is_favorite, created_at, valid)
+SELECT v.user_id, v.id, v.version, v.title, v.username, v.url, v.folder, v.tags, v.is_favorite, v.created_at,
+       tsrange(v.updated_at, NULL, '[)')
+FROM vault_schema.vault_items v
+WHERE NOT EXISTS (SELECT 1 FROM vault_schema.vault_item_versions iv WHERE iv.vault_item_id = v.id);
@@ -0,0 +1,8 @@
+-- Flyway Migration V29: Coadă de utilizatori pentru compactarea istoricului de parole
+-- Când un singur utilizator trece pe un plan cu maxHistoryVersions mai mic, doar el este pus în coadă;
+-- parcurgerea tuturor utilizatorilor (password_history_compaction) rămâne pentru modificarea unui plan
+
+CREATE TABLE IF NOT EXISTS vault_schema.password_history_compaction_users (
+    user_id BIGINT PRIMARY KEY REFERENCES vault_schema.users(id) ON DELETE CASCADE,
+    requested_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
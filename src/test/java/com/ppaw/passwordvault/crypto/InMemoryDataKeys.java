@@ -0,0 +1,27 @@
+package com.ppaw.passwordvault.crypto;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * user_data_keys kept in memory: the two statements VaultCryptoService issues against it.
+ */
+final class InMemoryDataKeys extends JdbcTemplate {
+
+    private final Map<Long, String> wrappedKeys = new ConcurrentHashMap<>();
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> List<T> queryForList(String sql, Class<T> elementType, Object... args) {
+        String wrapped = wrappedKeys.get((Long) args[0]);
+        return wrapped == null ? List.of() : List.of((T) wrapped);
+    }
+
+    @Override
+    public int update(String sql, Object... args) {
+        return wrappedKeys.putIfAbsent((Long) args[0], (String) args[1]) == null ? 1 : 0;
+    }
+}
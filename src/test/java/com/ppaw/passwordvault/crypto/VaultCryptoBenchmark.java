@@ -0,0 +1,88 @@
+package com.ppaw.passwordvault.crypto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encrypt/decrypt throughput of VaultCryptoService on one thread (i.e. per core), with the data keys
+ * already cached, as in a bulk import or export. Rerun with -t N to see the scaling over cores.
+ *
+ * Run: mvn test-compile exec:java -Dexec.classpathScope=test
+ *      -Dexec.mainClass=com.ppaw.passwordvault.crypto.VaultCryptoBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VaultCryptoBenchmark {
+
+    @Param({"16", "256"})
+    private int plaintextLength;
+
+    @Param({"1", "100"})
+    private int users;
+
+    private VaultCryptoService cryptoService;
+    private String plaintext;
+    private EncryptedValue[] encrypted;
+    private long next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cryptoService = new VaultCryptoService(new InMemoryDataKeys(), new NoOpTransactionManager(),
+                Base64.getEncoder().encodeToString(new byte[32]), Math.max(users, 1000), 15, new StandardEnvironment());
+        plaintext = "x".repeat(plaintextLength);
+        encrypted = new EncryptedValue[users];
+        for (int u = 0; u < users; u++) {
+            // Also creates and caches the user's data key
+            encrypted[u] = cryptoService.encrypt((long) u, plaintext);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        cryptoService.shutdown();
+    }
+
+    @Benchmark
+    public EncryptedValue encrypt() {
+        return cryptoService.encrypt(nextUser(), plaintext);
+    }
+
+    @Benchmark
+    public String decrypt() {
+        long user = nextUser();
+        EncryptedValue value = encrypted[(int) user];
+        return cryptoService.decrypt(user, value.getCiphertext(), value.getIv(), value.getScheme());
+    }
+
+    private long nextUser() {
+        return next++ % users;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(VaultCryptoBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,98 @@
+package com.ppaw.passwordvault.crypto;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class VaultCryptoServiceTest {
+
+    private static final String MASTER_KEY = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private VaultCryptoService cryptoService;
+
+    @BeforeEach
+    void setUp() {
+        cryptoService = new VaultCryptoService(new InMemoryDataKeys(), new NoOpTransactionManager(),
+                MASTER_KEY, 10, 15, new StandardEnvironment());
+    }
+
+    @AfterEach
+    void tearDown() {
+        cryptoService.shutdown();
+    }
+
+    @Test
+    void roundTripsSeveralValuesEncryptedOnOneThread() throws Exception {
+        List<String> plaintexts = List.of("first-secret", "second-secret", "third-secret", "ăîșț-€");
+        List<EncryptedValue> encrypted = new ArrayList<>();
+        for (String plaintext : plaintexts) {
+            encrypted.add(cryptoService.encrypt(1L, plaintext));
+        }
+
+        for (int i = 0; i < plaintexts.size(); i++) {
+            EncryptedValue value = encrypted.get(i);
+            assertEquals(VaultCryptoService.SCHEME_AES_GCM_V1, value.getScheme());
+            assertEquals(plaintexts.get(i), decrypt(1L, value), "same thread, value " + i);
+            // A fresh thread has a fresh cipher, so it only succeeds if the value was encrypted under the real key
+            assertEquals(plaintexts.get(i), decryptOnNewThread(1L, value), "new thread, value " + i);
+        }
+    }
+
+    @Test
+    void keepsDataKeysOfUsersApart() throws Exception {
+        EncryptedValue first = cryptoService.encrypt(1L, "secret");
+        EncryptedValue second = cryptoService.encrypt(2L, "secret");
+        assertNotEquals(first.getCiphertext(), second.getCiphertext());
+
+        cryptoService.evictDataKey(1L);
+        cryptoService.evictDataKey(2L);
+        assertEquals("secret", decryptOnNewThread(1L, first));
+        assertEquals("secret", decryptOnNewThread(2L, second));
+    }
+
+    @Test
+    void refusesTheDevelopmentMasterKeyOutsideTheDevProfile() {
+        assertThrows(IllegalStateException.class, () -> new VaultCryptoService(new InMemoryDataKeys(),
+                new NoOpTransactionManager(), "", 10, 15, new StandardEnvironment()));
+
+        StandardEnvironment dev = new StandardEnvironment();
+        dev.setActiveProfiles("dev");
+        new VaultCryptoService(new InMemoryDataKeys(), new NoOpTransactionManager(), "", 10, 15, dev).shutdown();
+    }
+
+    @Test
+    void readsLegacyValues() {
+        assertEquals("plain", cryptoService.decrypt(1L, "encrypted_plain", null, null));
+    }
+
+    private String decrypt(Long userId, EncryptedValue value) {
+        return cryptoService.decrypt(userId, value.getCiphertext(), value.getIv(), value.getScheme());
+    }
+
+    private String decryptOnNewThread(Long userId, EncryptedValue value) throws Exception {
+        AtomicReference<Object> result = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            try {
+                result.set(decrypt(userId, value));
+            } catch (RuntimeException e) {
+                result.set(e);
+            }
+        });
+        thread.start();
+        thread.join();
+        if (result.get() instanceof RuntimeException e) {
+            throw e;
+        }
+        return (String) result.get();
+    }
+}
@@ -0,0 +1,95 @@
+package com.ppaw.passwordvault.generator;
+
+import com.ppaw.passwordvault.dto.GeneratedPasswordsDTO;
+import com.ppaw.passwordvault.dto.PasswordGenerateRequestDTO;
+import com.ppaw.passwordvault.dto.PlanLimitsDTO;
+import com.ppaw.passwordvault.dto.ServicePlanDTO;
+import com.ppaw.passwordvault.dto.UserDTO;
+import com.ppaw.passwordvault.service.ServicePlanService;
+import com.ppaw.passwordvault.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single and bulk (PasswordGeneratorService.MAX_COUNT) generation time. The user and plan lookups
+ * return fixed values, so only the generation itself is measured.
+ *
+ * Run: mvn test-compile exec:java -Dexec.classpathScope=test
+ *      -Dexec.mainClass=com.ppaw.passwordvault.generator.PasswordGeneratorBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordGeneratorBenchmark {
+
+    private static final Long USER_ID = 1L;
+
+    @Param({"16", "64"})
+    private int length;
+
+    @Param({"false", "true"})
+    private boolean excludeAmbiguous;
+
+    private PasswordGeneratorService generator;
+    private PasswordGenerateRequestDTO single;
+    private PasswordGenerateRequestDTO bulk;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PlanLimitsDTO limits = PlanLimitsDTO.builder()
+                .maxPasswordLength(128)
+                .excludeAmbiguous(excludeAmbiguous)
+                .build();
+        UserService userService = new UserService(null, null, null, null, null, null) {
+            @Override
+            public UserDTO getUserById(Long id) {
+                return UserDTO.builder().id(id).servicePlanId(1L).build();
+            }
+        };
+        ServicePlanService servicePlanService = new ServicePlanService(null, null, null) {
+            @Override
+            public ServicePlanDTO getServicePlanWithLimits(Long id) {
+                return ServicePlanDTO.builder().id(id).limits(limits).build();
+            }
+        };
+        generator = new PasswordGeneratorService(userService, servicePlanService);
+
+        single = new PasswordGenerateRequestDTO();
+        single.setLength(length);
+        bulk = new PasswordGenerateRequestDTO();
+        bulk.setLength(length);
+        bulk.setCount(PasswordGeneratorService.MAX_COUNT);
+    }
+
+    @Benchmark
+    public GeneratedPasswordsDTO generateSingle() {
+        return generator.generate(USER_ID, single);
+    }
+
+    @Benchmark
+    public GeneratedPasswordsDTO generateBulk() {
+        return generator.generate(USER_ID, bulk);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PasswordGeneratorBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,117 @@
+package com.ppaw.passwordvault.health;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup latency of BreachedPasswordChecker for corpora of different sizes, and the heap the checker
+ * retains once the corpus is mapped. Both the retained heap (printed at setup) and the allocation per
+ * lookup (gc.alloc.rate.norm from the GC profiler) should stay the same whatever the corpus size.
+ *
+ * Run: mvn test-compile exec:java -Dexec.classpathScope=test
+ *      -Dexec.mainClass=com.ppaw.passwordvault.health.BreachedPasswordCheckerBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BreachedPasswordCheckerBenchmark {
+
+    private static final int PROBES = 1024;
+
+    @Param({"100000", "1000000", "5000000"})
+    private int corpusSize;
+
+    private Path corpus;
+    private BreachedPasswordChecker checker;
+    private final String[] breached = new String[PROBES];
+    private final String[] unknown = new String[PROBES];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path input = Files.createTempFile("breach-corpus", ".txt");
+        corpus = Files.createTempFile("breach-corpus", ".bin");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(input, StandardCharsets.UTF_8)) {
+                for (int i = 0; i < corpusSize; i++) {
+                    writer.write("breached-" + i);
+                    writer.newLine();
+                }
+            }
+            BreachCorpusBuilder.build(input, corpus, 10);
+        } finally {
+            Files.deleteIfExists(input);
+        }
+        for (int i = 0; i < PROBES; i++) {
+            breached[i] = "breached-" + (long) i * corpusSize / PROBES;
+            unknown[i] = "unknown-" + i;
+        }
+
+        long before = usedHeapAfterGc();
+        checker = new BreachedPasswordChecker(corpus.toString());
+        long after = usedHeapAfterGc();
+        if (!checker.isEnabled()) {
+            throw new IllegalStateException("corpus could not be opened");
+        }
+        System.out.printf("%nHeap retained by the checker for %d hashes: %d bytes (corpus file: %d bytes)%n",
+                corpusSize, after - before, Files.size(corpus));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        checker.close();
+        Files.deleteIfExists(corpus);
+    }
+
+    @Benchmark
+    public boolean lookupBreached() {
+        return checker.isBreached(breached[next++ & (PROBES - 1)]);
+    }
+
+    @Benchmark
+    public boolean lookupUnknown() {
+        return checker.isBreached(unknown[next++ & (PROBES - 1)]);
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BreachedPasswordCheckerBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,73 @@
+package com.ppaw.passwordvault.health;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of one PasswordStrengthEstimator estimate; the target is well under 100 µs per password,
+ * including the longest analyzed input. The GC profiler should report no allocation per estimate.
+ *
+ * Run: mvn test-compile exec:java -Dexec.classpathScope=test
+ *      -Dexec.mainClass=com.ppaw.passwordvault.health.PasswordStrengthEstimatorBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordStrengthEstimatorBenchmark {
+
+    @Param({
+            "password1",
+            "P@ssw0rd2024!",
+            "qwertyasdfgh1234",
+            "correct-horse-battery-staple",
+            "x7#Kq!vR2m$Lp9@Zt4&Wn8^Bs1*Hd6%Fj3"
+    })
+    private String password;
+
+    private PasswordStrengthEstimator estimator;
+    private String longest;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // Built-in word lists only; pass vault.strength.dictionary-path's file here to measure a full list
+        estimator = new PasswordStrengthEstimator("");
+        longest = password.repeat(128 / password.length() + 1).substring(0, 128);
+    }
+
+    @Benchmark
+    public double estimate() {
+        return estimator.log10Guesses(password);
+    }
+
+    @Benchmark
+    public double estimateMaxLength() {
+        return estimator.log10Guesses(longest);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PasswordStrengthEstimatorBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}